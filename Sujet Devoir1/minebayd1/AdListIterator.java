@@ -0,0 +1,328 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Un curseur bidirectionnel sur les annonces d'une CategorizedAdList, de la
+ * plus récente à la plus ancienne.
+ *
+ * Contrairement à l'itération intégrée à CategorizedAdList (startIteration,
+ * next, previous, ...), un AdListIterator est un objet distinct de la liste: il
+ * possède sa propre catégorie éventuelle et sa propre position, et sa création
+ * se fait en temps constant. Plusieurs AdListIterator peuvent ainsi parcourir
+ * simultanément la même liste, y compris depuis des threads différents tant
+ * que la liste n'est pas modifiée, sans qu'il soit nécessaire de la cloner.
+ *
+ * Si une catégorie est associée à ce curseur, il ne parcourt que les annonces
+ * de cette catégorie; sinon il parcourt toutes les annonces de la liste, quelque
+ * soit leur catégorie.
+ *
+ * Un AdListIterator ne permet pas de modifier la liste parcourue: les méthodes
+ * remove, set et add lèvent une UnsupportedOperationException. Si la liste est
+ * modifiée (par add ou remove) après la création de ce curseur, les appels
+ * suivants à next() et previous() lèvent une ConcurrentModificationException
+ * plutôt que de renvoyer des annonces incohérentes.
+ *
+ * @invariant getCategory() != null;
+ * @invariant nextIndex() >= 0 && previousIndex() >= -1;
+ * @invariant nextIndex() == previousIndex() + 1;
+ * @invariant lastIndex() == nextIndex() || lastIndex() == previousIndex();
+ * @invariant !hasPrevious() <==> previousIndex() == -1;
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class AdListIterator implements ListIterator<ClassifiedAd> {
+
+	private final CategorizedAdList list; // liste parcourue par ce curseur.
+	private final Optional<Category> category; // catégorie parcourue, ou Optional.empty() pour toutes.
+	private int[] heads; // pour chaque catégorie, nombre d'annonces déjà parcourues par l'itération fusionnée.
+	private int nextIndex; // index de l'annonce renvoyée par le prochain appel à next().
+	private int lastIndex; // index de la dernière annonce renvoyée par next() ou previous().
+	private int expectedModCount; // modCount de la liste à laquelle ce curseur correspond.
+
+	/**
+	 * Initialise un nouveau curseur placé avant l'annonce la plus récente de la
+	 * liste spécifiée (ou de la catégorie spécifiée de cette liste).
+	 *
+	 * @param list     la liste à parcourir
+	 * @param category la catégorie à parcourir, ou Optional.empty() pour toutes
+	 *
+	 * @requires list != null;
+	 * @requires category != null;
+	 * @ensures getCategory().equals(category);
+	 * @ensures !hasPrevious();
+	 * @ensures nextIndex() == 0;
+	 * @ensures lastIndex() == -1;
+	 */
+	AdListIterator(CategorizedAdList list, Optional<Category> category) {
+		this.list = list;
+		this.category = category;
+		this.heads = new int[Category.values().length];
+		this.lastIndex = -1;
+		this.expectedModCount = list.modCount();
+	}
+
+	/**
+	 * Initialise un nouveau curseur placé avant l'annonce d'index nextIndex de la
+	 * liste spécifiée (ou de la catégorie spécifiée de cette liste). Sans
+	 * catégorie, heads[i] est le nombre d'annonces de la catégorie d'index i qui
+	 * précèdent cette annonce dans l'ordre de parcours.
+	 *
+	 * @requires list != null;
+	 * @requires category != null;
+	 * @requires heads.length == Category.values().length;
+	 * @requires category.isEmpty() ==> (\sum int i; i >= 0 && i < heads.length;
+	 *           heads[i]) == nextIndex;
+	 * @ensures getCategory().equals(category);
+	 * @ensures nextIndex() == nextIndex;
+	 * @ensures lastIndex() == -1;
+	 */
+	AdListIterator(CategorizedAdList list, Optional<Category> category, int[] heads, int nextIndex) {
+		this(list, category);
+		this.heads = heads;
+		this.nextIndex = nextIndex;
+	}
+
+	/**
+	 * Renvoie un Optional pour la catégorie parcourue par ce curseur.
+	 *
+	 * @return un Optional pour la catégorie parcourue par ce curseur
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public Optional<Category> getCategory() {
+		return this.category;
+	}
+
+	/**
+	 * Renvoie true si ce curseur possède une annonce plus ancienne.
+	 *
+	 * @return true si ce curseur possède une annonce plus ancienne
+	 *
+	 * @pure
+	 */
+	@Override
+	public boolean hasNext() {
+		return this.nextIndex < this.size();
+	}
+
+	/**
+	 * Renvoie l'annonce suivante (plus ancienne) et avance d'un élément.
+	 *
+	 * @return l'annonce suivante (plus ancienne)
+	 *
+	 * @throws NoSuchElementException          si !hasNext()
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de ce curseur
+	 *
+	 * @ensures \result != null;
+	 * @ensures getCategory().isPresent() ==>
+	 *          \result.getCategory().equals(getCategory().get());
+	 * @ensures nextIndex() == \old(nextIndex()) + 1;
+	 * @ensures lastIndex() == \old(nextIndex());
+	 */
+	@Override
+	public ClassifiedAd next() {
+		this.checkForComodification();
+
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		ClassifiedAd nextJustOlderAd;
+
+		if (this.category.isPresent()) {
+			// the cursor is a plain index into the sorted bucket.
+			nextJustOlderAd = this.list.get(this.category.get(), this.nextIndex);
+		} else {
+			// merge step: take the newest ad among the heads of the buckets.
+			int indx = this.list.newerHead(this.heads);
+			nextJustOlderAd = this.list.headAd(indx, this.heads[indx]);
+			this.heads[indx] += 1;
+		}
+
+		this.lastIndex = this.nextIndex;
+		this.nextIndex += 1;
+		return nextJustOlderAd;
+	}
+
+	/**
+	 * Renvoie true si ce curseur possède une annonce plus récente.
+	 *
+	 * @return true si ce curseur possède une annonce plus récente
+	 *
+	 * @pure
+	 */
+	@Override
+	public boolean hasPrevious() {
+		return this.nextIndex > 0;
+	}
+
+	/**
+	 * Renvoie l'annonce précédente (plus récente) et recule d'un élément.
+	 *
+	 * @return l'annonce précédente (plus récente)
+	 *
+	 * @throws NoSuchElementException          si !hasPrevious()
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de ce curseur
+	 *
+	 * @ensures \result != null;
+	 * @ensures getCategory().isPresent() ==>
+	 *          \result.getCategory().equals(getCategory().get());
+	 * @ensures nextIndex() == \old(nextIndex()) - 1;
+	 * @ensures lastIndex() == nextIndex();
+	 */
+	@Override
+	public ClassifiedAd previous() {
+		this.checkForComodification();
+
+		if (!this.hasPrevious()) {
+			throw new NoSuchElementException();
+		}
+
+		this.nextIndex -= 1;
+		this.lastIndex = this.nextIndex;
+
+		if (this.category.isPresent()) {
+			return this.list.get(this.category.get(), this.nextIndex);
+		}
+
+		// undo a merge step: give back the oldest of the ads already passed.
+		int indx = this.list.olderPassedHead(this.heads);
+		this.heads[indx] -= 1;
+		return this.list.headAd(indx, this.heads[indx]);
+	}
+
+	/**
+	 * Renvoie l'index de l'annonce qui sera renvoyée par le prochain appel à
+	 * next().
+	 *
+	 * @return l'index de l'annonce qui sera renvoyée par le prochain appel à
+	 *         next()
+	 *
+	 * @pure
+	 */
+	@Override
+	public int nextIndex() {
+		return this.nextIndex;
+	}
+
+	/**
+	 * Renvoie l'index de l'annonce qui sera renvoyée par le prochain appel à
+	 * previous(), ou -1 au début du parcours.
+	 *
+	 * @return l'index de l'annonce qui sera renvoyée par le prochain appel à
+	 *         previous(); ou -1
+	 *
+	 * @pure
+	 */
+	@Override
+	public int previousIndex() {
+		return this.nextIndex - 1;
+	}
+
+	/**
+	 * Renvoie l'index de l'annonce qui a été renvoyée par le dernier appel à
+	 * previous() ou next(), ou -1 si aucune annonce n'a encore été renvoyée.
+	 *
+	 * @return l'index de l'annonce qui a été renvoyée par le dernier appel à
+	 *         previous() ou next(); ou -1
+	 *
+	 * @pure
+	 */
+	public int lastIndex() {
+		return this.lastIndex;
+	}
+
+	/**
+	 * Opération non supportée: un AdListIterator ne modifie pas la liste
+	 * parcourue.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée: un AdListIterator ne modifie pas la liste
+	 * parcourue.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void set(ClassifiedAd ad) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée: un AdListIterator ne modifie pas la liste
+	 * parcourue.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void add(ClassifiedAd ad) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Replace ce curseur avant l'annonce la plus récente, la liste dans son état
+	 * actuel devenant la référence pour la détection des modifications.
+	 */
+	void reset() {
+		Arrays.fill(this.heads, 0);
+		this.nextIndex = 0;
+		this.lastIndex = -1;
+		this.expectedModCount = this.list.modCount();
+	}
+
+	/**
+	 * Renvoie un curseur sur la liste spécifiée, dans le même état que ce curseur.
+	 *
+	 * @requires list a le même contenu que la liste parcourue par ce curseur;
+	 */
+	AdListIterator copyFor(CategorizedAdList list) {
+		AdListIterator copy = new AdListIterator(list, this.category);
+		copy.heads = this.heads.clone();
+		copy.nextIndex = this.nextIndex;
+		copy.lastIndex = this.lastIndex;
+		copy.expectedModCount = this.expectedModCount;
+		return copy;
+	}
+
+	/**
+	 * Lève une ConcurrentModificationException si la liste a été modifiée depuis
+	 * la création (ou la réinitialisation) de ce curseur.
+	 */
+	private void checkForComodification() {
+		if (this.list.modCount() != this.expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces parcourues par ce curseur.
+	 */
+	private int size() {
+		if (this.category.isPresent()) {
+			return this.list.size(this.category.get());
+		}
+
+		return this.list.size();
+	}
+}
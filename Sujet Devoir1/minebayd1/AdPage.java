@@ -0,0 +1,70 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Une page d'annonces, de la plus récente à la plus ancienne, telle que
+ * renvoyée par les méthodes page de CategorizedAdList et de User. Une page
+ * fournit, s'il reste des annonces après elle, le jeton de continuation
+ * permettant d'obtenir la page suivante.
+ *
+ * Cette classe est non modifiable.
+ *
+ * @invariant getAds() != null;
+ * @invariant getNextToken() != null;
+ * @invariant getAds().isEmpty() ==> getNextToken().isEmpty();
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class AdPage {
+
+	private final List<ClassifiedAd> ads; // annonces de cette page.
+	private final Optional<PageToken> nextToken; // jeton de la page suivante, s'il y en a une.
+
+	/**
+	 * Initialise une nouvelle page contenant les annonces spécifiées.
+	 *
+	 * @requires ads != null;
+	 * @requires nextToken != null;
+	 */
+	AdPage(List<ClassifiedAd> ads, Optional<PageToken> nextToken) {
+		this.ads = Collections.unmodifiableList(ads);
+		this.nextToken = nextToken;
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les annonces de cette page, de la plus
+	 * récente à la plus ancienne.
+	 *
+	 * @return les annonces de cette page
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public List<ClassifiedAd> getAds() {
+		return this.ads;
+	}
+
+	/**
+	 * Renvoie un Optional pour le jeton permettant d'obtenir la page suivante,
+	 * vide s'il n'y avait plus d'annonce après cette page.
+	 *
+	 * @return un Optional pour le jeton de la page suivante
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public Optional<PageToken> getNextToken() {
+		return this.nextToken;
+	}
+}
@@ -0,0 +1,267 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Une vue non modifiable sur les annonces d'une CategorizedAdList publiées dans
+ * un intervalle de dates, de la plus récente à la plus ancienne, telle que
+ * renvoyée par les méthodes between et since de CategorizedAdList.
+ *
+ * Les annonces d'un intervalle de dates forment une tranche contiguë de
+ * l'ordre de parcours de la liste (ou de la catégorie) concernée: cette vue ne
+ * retient que l'index de sa première annonce dans cet ordre et, pour chaque
+ * catégorie, les bornes de la tranche correspondante dans la liste triée de
+ * cette catégorie. Aucune annonce n'est copiée: get(i) est délégué à la liste
+ * et le parcours (iterator, listIterator, stream) fusionne directement ces
+ * tranches.
+ *
+ * Sans catégorie, get(i) est une sélection dans les listes triées, comme
+ * CategorizedAdList.get(int), et ne se fait donc pas en temps constant: cette
+ * vue n'implémente pas RandomAccess, et ses annonces doivent être parcourues
+ * par iterator() ou listIterator(), dont chaque pas coûte O(k) pour k
+ * catégories, plutôt que par une boucle sur get(i).
+ *
+ * Si la liste est modifiée (par add ou remove) après la création de cette vue,
+ * les appels suivants aux méthodes de cette vue lèvent une
+ * ConcurrentModificationException.
+ *
+ * @invariant size() >= 0;
+ * @invariant !contains(null);
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+class AdRangeView extends AbstractList<ClassifiedAd> {
+
+	private final CategorizedAdList list; // liste dont cette vue est une tranche.
+	private final Optional<Category> category; // catégorie de cette vue, ou Optional.empty() pour toutes.
+	private final int[] lo; // pour chaque catégorie, index de la plus ancienne annonce de cette vue.
+	private final int[] hi; // pour chaque catégorie, index suivant celui de la plus récente annonce de cette vue.
+	private final int start; // index de la première annonce de cette vue dans la liste (ou la catégorie).
+	private final int size; // nombre d'annonces de cette vue.
+	private final int expectedModCount; // modCount de la liste à laquelle cette vue correspond.
+
+	/**
+	 * Initialise une nouvelle vue sur les annonces de la liste spécifiée dont
+	 * l'index dans la liste triée de leur catégorie d'index i est compris entre
+	 * lo[i] (inclus) et hi[i] (exclu).
+	 *
+	 * @requires list != null;
+	 * @requires category != null;
+	 * @requires (\forall int i; category.isPresent() && i != category.get().ordinal();
+	 *           lo[i] == hi[i] && hi[i] == list.size(Category.values()[i]));
+	 * @requires ces annonces forment une tranche de l'ordre de parcours de list
+	 *           (ou de la catégorie spécifiée);
+	 */
+	AdRangeView(CategorizedAdList list, Optional<Category> category, int[] lo, int[] hi) {
+		int newer = 0;
+		int size = 0;
+
+		for (int i = 0; i < lo.length; i++) {
+			// the ads above hi[i] are the newer ones, that come before this view.
+			newer += list.bucketAt(i).size() - hi[i];
+			size += hi[i] - lo[i];
+		}
+
+		this.list = list;
+		this.category = category;
+		this.lo = lo;
+		this.hi = hi;
+		this.start = newer;
+		this.size = size;
+		this.expectedModCount = list.modCount();
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce de cette vue. Sans catégorie, cette
+	 * annonce est sélectionnée dans les listes triées en O(k^2 log(n)) (en temps
+	 * constant pour une vue sur une catégorie).
+	 *
+	 * @throws IndexOutOfBoundsException       si i < 0 || i >= size()
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de cette vue
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	@Override
+	public ClassifiedAd get(int i) {
+		this.checkForComodification();
+		Objects.checkIndex(i, this.size);
+
+		if (this.category.isPresent()) {
+			return this.list.get(this.category.get(), this.start + i);
+		}
+
+		return this.list.get(this.start + i);
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de cette vue.
+	 *
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de cette vue
+	 *
+	 * @pure
+	 */
+	@Override
+	public int size() {
+		this.checkForComodification();
+		return this.size;
+	}
+
+	/**
+	 * Renvoie un itérateur sur les annonces de cette vue, de la plus récente à la
+	 * plus ancienne.
+	 *
+	 * @pure
+	 */
+	@Override
+	public Iterator<ClassifiedAd> iterator() {
+		return Spliterators.iterator(this.spliterator());
+	}
+
+	/**
+	 * Renvoie un curseur bidirectionnel sur les annonces de cette vue, de la plus
+	 * récente à la plus ancienne, placé avant l'annonce d'index index. Ce curseur
+	 * fusionne les tranches des catégories pas à pas, comme un AdListIterator, au
+	 * lieu d'appeler get(i): le placer coûte O(index * k) et chaque pas O(k). Il
+	 * ne permet pas de modifier la liste.
+	 *
+	 * @throws IndexOutOfBoundsException       si index < 0 || index > size()
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de cette vue
+	 *
+	 * @pure
+	 */
+	@Override
+	public ListIterator<ClassifiedAd> listIterator(int index) {
+		this.checkForComodification();
+
+		if (index < 0 || index > this.size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		RangeIterator it = new RangeIterator();
+		for (int i = 0; i < index; i++) {
+			it.next();
+		}
+
+		return it;
+	}
+
+	/**
+	 * Renvoie un Spliterator sur les annonces de cette vue, de la plus récente à
+	 * la plus ancienne, ordonné et de taille connue.
+	 *
+	 * @pure
+	 */
+	@Override
+	public Spliterator<ClassifiedAd> spliterator() {
+		this.checkForComodification();
+		return new AdSpliterator(this.list, this.lo.clone(), this.hi.clone());
+	}
+
+	/**
+	 * Lève une ConcurrentModificationException si la liste a été modifiée depuis
+	 * la création de cette vue.
+	 */
+	private void checkForComodification() {
+		if (this.list.modCount() != this.expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	/**
+	 * Un curseur sur les annonces de cette vue: un AdListIterator placé avant la
+	 * première annonce de la vue, dont le parcours est borné à la vue et dont les
+	 * index sont relatifs à la vue.
+	 */
+	private final class RangeIterator implements ListIterator<ClassifiedAd> {
+
+		private final AdListIterator cursor; // curseur sur la liste, entre start et start + size.
+
+		/**
+		 * Initialise un nouveau curseur placé avant la plus récente annonce de cette
+		 * vue.
+		 */
+		RangeIterator() {
+			int[] heads = new int[AdRangeView.this.hi.length];
+
+			for (int i = 0; i < heads.length; i++) {
+				// the ads above hi[i] have already been passed by the merged order.
+				heads[i] = AdRangeView.this.list.bucketAt(i).size() - AdRangeView.this.hi[i];
+			}
+
+			this.cursor = new AdListIterator(AdRangeView.this.list, AdRangeView.this.category, heads,
+					AdRangeView.this.start);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.nextIndex() < AdRangeView.this.size;
+		}
+
+		@Override
+		public ClassifiedAd next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return this.cursor.next();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return this.nextIndex() > 0;
+		}
+
+		@Override
+		public ClassifiedAd previous() {
+			if (!this.hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			return this.cursor.previous();
+		}
+
+		@Override
+		public int nextIndex() {
+			return this.cursor.nextIndex() - AdRangeView.this.start;
+		}
+
+		@Override
+		public int previousIndex() {
+			return this.nextIndex() - 1;
+		}
+
+		@Override
+		public void remove() {
+			this.cursor.remove();
+		}
+
+		@Override
+		public void set(ClassifiedAd ad) {
+			this.cursor.set(ad);
+		}
+
+		@Override
+		public void add(ClassifiedAd ad) {
+			this.cursor.add(ad);
+		}
+	}
+}
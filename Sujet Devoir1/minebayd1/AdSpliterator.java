@@ -0,0 +1,245 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Un Spliterator sur les annonces d'une CategorizedAdList, de la plus récente
+ * à la plus ancienne, sur lequel reposent les méthodes stream(),
+ * stream(Category) et parallelStream() de CategorizedAdList.
+ *
+ * Ce Spliterator retient, pour chaque catégorie, l'intervalle des annonces
+ * restant à parcourir dans la liste triée de cette catégorie; tryAdvance
+ * fusionne ces intervalles à la volée comme le fait l'itération de
+ * CategorizedAdList. trySplit coupe l'intervalle le plus long en son milieu et
+ * coupe les autres intervalles à la position de cette annonce pivot (par recherche
+ * dichotomique), de sorte que le Spliterator renvoyé couvre exactement les
+ * annonces plus récentes que celles qui restent à ce Spliterator: l'ordre de
+ * parcours est préservé et les deux parties sont de taille connue.
+ *
+ * Si la liste est modifiée (par add ou remove) après la création de ce
+ * Spliterator, les appels suivants à tryAdvance lèvent une
+ * ConcurrentModificationException.
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+class AdSpliterator implements Spliterator<ClassifiedAd> {
+
+	private final CategorizedAdList list; // liste parcourue par ce Spliterator.
+	private final ArrayList<ClassifiedAd>[] buckets; // listes triées de la liste parcourue, lors de la création.
+	private final int[] lo; // pour chaque catégorie, index de la plus ancienne annonce restant à parcourir.
+	private final int[] hi; // pour chaque catégorie, index suivant celui de la plus récente annonce restant à parcourir.
+	private final int expectedModCount; // modCount de la liste à laquelle ce Spliterator correspond.
+
+	/**
+	 * Initialise un nouveau Spliterator sur toutes les annonces de la liste
+	 * spécifiée, ou sur celles de la catégorie spécifiée.
+	 *
+	 * @param list     la liste à parcourir
+	 * @param category la catégorie à parcourir, ou Optional.empty() pour toutes
+	 *
+	 * @requires list != null;
+	 * @requires category != null;
+	 * @ensures category.isEmpty() ==> estimateSize() == list.size();
+	 * @ensures category.isPresent() ==> estimateSize() ==
+	 *          list.size(category.get());
+	 */
+	AdSpliterator(CategorizedAdList list, Optional<Category> category) {
+		int nbCat = Category.values().length;
+
+		this.list = list;
+		this.buckets = CategorizedAdList.newBuckets(nbCat);
+		this.lo = new int[nbCat];
+		this.hi = new int[nbCat];
+		this.expectedModCount = list.modCount();
+
+		for (int i = 0; i < nbCat; i++) {
+			this.buckets[i] = list.bucketAt(i);
+
+			if (category.isEmpty() || category.get().ordinal() == i) {
+				this.hi[i] = this.buckets[i].size();
+			}
+		}
+	}
+
+	/**
+	 * Initialise un nouveau Spliterator sur les annonces de la liste spécifiée
+	 * dont l'index dans la liste triée de leur catégorie d'index i est compris
+	 * entre lo[i] (inclus) et hi[i] (exclu).
+	 *
+	 * @requires list != null;
+	 * @requires lo.length == Category.values().length;
+	 * @requires hi.length == Category.values().length;
+	 * @requires ces annonces forment une tranche de l'ordre de parcours de list;
+	 */
+	AdSpliterator(CategorizedAdList list, int[] lo, int[] hi) {
+		this.list = list;
+		this.buckets = CategorizedAdList.newBuckets(lo.length);
+		this.lo = lo;
+		this.hi = hi;
+		this.expectedModCount = list.modCount();
+
+		for (int i = 0; i < lo.length; i++) {
+			this.buckets[i] = list.bucketAt(i);
+		}
+	}
+
+	/**
+	 * Initialise un nouveau Spliterator parcourant les mêmes annonces que le
+	 * Spliterator spécifié.
+	 */
+	private AdSpliterator(AdSpliterator other) {
+		this.list = other.list;
+		this.buckets = other.buckets;
+		this.lo = other.lo.clone();
+		this.hi = other.hi.clone();
+		this.expectedModCount = other.expectedModCount;
+	}
+
+	/**
+	 * Si une annonce reste à parcourir, la transmet à l'action spécifiée et
+	 * renvoie true; sinon renvoie false.
+	 *
+	 * @throws ConcurrentModificationException si la liste a été modifiée depuis la
+	 *                                         création de ce Spliterator
+	 *
+	 * @requires action != null;
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super ClassifiedAd> action) {
+		this.checkForComodification();
+
+		int indx = this.newerHead();
+
+		if (indx == -1) {
+			return false;
+		}
+
+		this.hi[indx] -= 1;
+		action.accept(this.buckets[indx].get(this.hi[indx]));
+		return true;
+	}
+
+	/**
+	 * Renvoie un Spliterator sur les annonces les plus récentes restant à
+	 * parcourir, ce Spliterator ne conservant que les plus anciennes; renvoie null
+	 * s'il reste trop peu d'annonces pour les partager.
+	 *
+	 * @ensures \result != null ==> \result.estimateSize() > 0 && estimateSize() > 0;
+	 * @ensures \result != null ==> \result.estimateSize() + estimateSize() ==
+	 *          \old(estimateSize());
+	 */
+	@Override
+	public Spliterator<ClassifiedAd> trySplit() {
+		int pivotCat = -1;
+
+		// the pivot is the middle ad of the longest remaining range.
+		for (int i = 0; i < this.lo.length; i++) {
+			if (pivotCat == -1 || this.hi[i] - this.lo[i] > this.hi[pivotCat] - this.lo[pivotCat]) {
+				pivotCat = i;
+			}
+		}
+
+		int mid = (this.lo[pivotCat] + this.hi[pivotCat]) >>> 1;
+
+		if (mid == this.hi[pivotCat]) {
+			return null;
+		}
+
+		ClassifiedAd pivot = this.buckets[pivotCat].get(mid);
+		int[] cuts = new int[this.lo.length];
+		long olderSize = 0;
+
+		// the ads following the pivot in the merged order are those following it in
+		// the order of compareTo, whatever their category.
+		for (int i = 0; i < this.lo.length; i++) {
+			if (i == pivotCat) {
+				cuts[i] = mid;
+			} else {
+				int bound = CategorizedAdList.upperBound(this.buckets[i], pivot);
+				cuts[i] = Math.max(this.lo[i], Math.min(this.hi[i], bound));
+			}
+
+			olderSize += cuts[i] - this.lo[i];
+		}
+
+		if (olderSize == 0) {
+			return null;
+		}
+
+		AdSpliterator newer = new AdSpliterator(this);
+
+		for (int i = 0; i < this.lo.length; i++) {
+			newer.lo[i] = cuts[i];
+			this.hi[i] = cuts[i];
+		}
+
+		return newer;
+	}
+
+	/**
+	 * Renvoie le nombre exact d'annonces restant à parcourir.
+	 *
+	 * @pure
+	 */
+	@Override
+	public long estimateSize() {
+		long size = 0;
+
+		for (int i = 0; i < this.lo.length; i++) {
+			size += this.hi[i] - this.lo[i];
+		}
+
+		return size;
+	}
+
+	/**
+	 * Renvoie les caractéristiques de ce Spliterator: ses annonces sont
+	 * ordonnées, distinctes, non nulles et en nombre connu, y compris après un
+	 * partage.
+	 *
+	 * @pure
+	 */
+	@Override
+	public int characteristics() {
+		return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+	}
+
+	/**
+	 * Renvoie l'index de la catégorie dont la plus récente annonce restant à
+	 * parcourir est la plus récente, ou -1 si toutes les annonces ont été
+	 * parcourues, selon l'ordre total de compareTo (date, puis numéro de
+	 * séquence).
+	 */
+	private int newerHead() {
+		int newer = -1;
+
+		for (int i = 0; i < this.lo.length; i++) {
+			if (this.lo[i] < this.hi[i] && (newer == -1
+					|| this.buckets[i].get(this.hi[i] - 1).compareTo(this.buckets[newer].get(this.hi[newer] - 1)) > 0)) {
+				newer = i;
+			}
+		}
+
+		return newer;
+	}
+
+	/**
+	 * Lève une ConcurrentModificationException si la liste a été modifiée depuis
+	 * la création de ce Spliterator.
+	 */
+	private void checkForComodification() {
+		if (this.list.modCount() != this.expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Un index inversé sur les mots des descriptions des annonces d'un User, sur
+ * lequel reposent les méthodes searchAll et searchAny de User.
+ *
+ * Chaque annonce indexée reçoit un identifiant entier (sa position dans le
+ * tableau des annonces indexées) et l'état dans lequel elle se trouve pour ce
+ * User. Pour chaque mot, l'index retient la liste des identifiants des annonces
+ * dont la description contient ce mot, triée de la plus ancienne à la plus
+ * récente annonce. Une recherche parcourt ces listes depuis leur fin, de sorte
+ * que ses résultats sont renvoyés de la plus récente à la plus ancienne
+ * annonce, sans tri.
+ *
+ * Les mots d'une description sont ses suites maximales de lettres et de
+ * chiffres, comparées sans tenir compte de la casse.
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+class AdTextIndex {
+
+	private ClassifiedAd[] ads; // annonces indexées, l'identifiant d'une annonce étant sa position.
+	private AdState[] states; // état de chaque annonce indexée.
+	private int nbAds; // nombre d'annonces indexées.
+	private HashMap<ClassifiedAd, Integer> ids; // identifiant de chaque annonce indexée.
+	private HashMap<String, Postings> postings; // pour chaque mot, annonces dont la description le contient.
+
+	/**
+	 * Initialise un nouvel index ne contenant aucune annonce.
+	 */
+	AdTextIndex() {
+		this.ads = new ClassifiedAd[16];
+		this.states = new AdState[16];
+		this.ids = new HashMap<ClassifiedAd, Integer>();
+		this.postings = new HashMap<String, Postings>();
+	}
+
+	/**
+	 * Ajoute l'annonce spécifiée à cet index, dans l'état spécifié.
+	 *
+	 * @requires ad != null;
+	 * @requires state != null;
+	 * @requires cette annonce n'est pas déjà indexée;
+	 */
+	void add(ClassifiedAd ad, AdState state) {
+		if (this.nbAds == this.ads.length) {
+			this.ads = Arrays.copyOf(this.ads, 2 * this.nbAds);
+			this.states = Arrays.copyOf(this.states, 2 * this.nbAds);
+		}
+
+		int id = this.nbAds;
+		this.ads[id] = ad;
+		this.states[id] = state;
+		this.nbAds += 1;
+		this.ids.put(ad, id);
+
+		// a word repeated in the description is posted only once.
+		for (String word : new HashSet<String>(words(ad.getDescription()))) {
+			Postings list = this.postings.get(word);
+
+			if (list == null) {
+				list = new Postings();
+				this.postings.put(word, list);
+			}
+
+			list.insert(id, this);
+		}
+	}
+
+	/**
+	 * Change l'état de l'annonce spécifiée dans cet index.
+	 *
+	 * @requires ad != null;
+	 * @requires state != null;
+	 * @requires cette annonce est indexée;
+	 */
+	void setState(ClassifiedAd ad, AdState state) {
+		this.states[this.ids.get(ad)] = state;
+	}
+
+	/**
+	 * Renvoie les annonces dans l'état spécifié, appartenant à la catégorie
+	 * spécifiée (à toutes si cat est vide) et dont la description contient tous
+	 * les mots de la chaîne spécifiée (si matchAll) ou au moins l'un d'entre eux
+	 * (sinon), de la plus récente à la plus ancienne. Une chaîne sans aucun mot
+	 * ne correspond à aucune annonce.
+	 *
+	 * @requires state != null;
+	 * @requires cat != null;
+	 * @requires text != null;
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	List<ClassifiedAd> search(AdState state, Optional<Category> cat, String text, boolean matchAll) {
+		List<ClassifiedAd> result = new ArrayList<ClassifiedAd>();
+		List<Postings> lists = new ArrayList<Postings>();
+
+		for (String word : words(text)) {
+			Postings list = this.postings.get(word);
+
+			if (list != null && !lists.contains(list)) {
+				lists.add(list);
+			} else if (list == null && matchAll) {
+				return result;
+			}
+		}
+
+		if (lists.isEmpty()) {
+			return result;
+		}
+
+		if (matchAll) {
+			// walk the shortest list and look the other words up by binary search.
+			Postings shortest = lists.get(0);
+			for (Postings list : lists) {
+				if (list.size < shortest.size) {
+					shortest = list;
+				}
+			}
+
+			for (int k = shortest.size - 1; k >= 0; k--) {
+				int id = shortest.ids[k];
+				boolean inAll = this.matches(id, state, cat);
+
+				for (int l = 0; inAll && l < lists.size(); l++) {
+					inAll = lists.get(l) == shortest || lists.get(l).contains(id, this);
+				}
+
+				if (inAll) {
+					result.add(this.ads[id]);
+				}
+			}
+		} else {
+			// merge the lists from their newest end, an ad being taken only once.
+			int[] heads = new int[lists.size()];
+			for (int l = 0; l < lists.size(); l++) {
+				heads[l] = lists.get(l).size - 1;
+			}
+
+			int last = -1;
+			while (true) {
+				int newer = -1;
+
+				for (int l = 0; l < lists.size(); l++) {
+					if (heads[l] >= 0 && (newer == -1
+							|| this.isAfter(lists.get(l).ids[heads[l]], lists.get(newer).ids[heads[newer]]))) {
+						newer = l;
+					}
+				}
+
+				if (newer == -1) {
+					break;
+				}
+
+				int id = lists.get(newer).ids[heads[newer]];
+				heads[newer] -= 1;
+
+				if (id != last && this.matches(id, state, cat)) {
+					result.add(this.ads[id]);
+				}
+
+				last = id;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Renvoie true si l'annonce d'identifiant spécifié est dans l'état spécifié
+	 * et appartient à la catégorie spécifiée (ou si cat est vide).
+	 */
+	private boolean matches(int id, AdState state, Optional<Category> cat) {
+		return this.states[id].equals(state)
+				&& (cat.isEmpty() || this.ads[id].getCategory().equals(cat.get()));
+	}
+
+	/**
+	 * Renvoie true si l'annonce d'identifiant a suit l'annonce d'identifiant b
+	 * dans l'ordre des listes de cet index, celui de compareTo.
+	 */
+	private boolean isAfter(int a, int b) {
+		return this.ads[a].compareTo(this.ads[b]) > 0;
+	}
+
+	/**
+	 * Renvoie les mots de la chaîne spécifiée, en minuscules.
+	 */
+	private static List<String> words(String text) {
+		List<String> words = new ArrayList<String>();
+		int start = -1;
+
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+			if (inWord && start == -1) {
+				start = i;
+			} else if (!inWord && start != -1) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+
+		return words;
+	}
+
+	/**
+	 * Une liste d'identifiants d'annonces, triée dans l'ordre des annonces (de la
+	 * plus ancienne à la plus récente).
+	 */
+	private static class Postings {
+
+		private int[] ids = new int[4]; // identifiants, dans l'ordre des annonces.
+		private int size; // nombre d'identifiants.
+
+		/**
+		 * Insère l'identifiant spécifié à sa place (trouvée par dichotomie) dans
+		 * cette liste; une nouvelle annonce, plus récente que les autres, est ajoutée
+		 * en fin de liste.
+		 */
+		private void insert(int id, AdTextIndex index) {
+			if (this.size == this.ids.length) {
+				this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+			}
+
+			int lo = 0;
+			int hi = this.size;
+
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+
+				if (index.isAfter(this.ids[mid], id)) {
+					hi = mid;
+				} else {
+					lo = mid + 1;
+				}
+			}
+
+			System.arraycopy(this.ids, lo, this.ids, lo + 1, this.size - lo);
+			this.ids[lo] = id;
+			this.size += 1;
+		}
+
+		/**
+		 * Renvoie true si cette liste contient l'identifiant spécifié, recherché
+		 * par dichotomie.
+		 */
+		private boolean contains(int id, AdTextIndex index) {
+			int lo = 0;
+			int hi = this.size;
+
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+
+				if (this.ids[mid] == id) {
+					return true;
+				} else if (index.isAfter(id, this.ids[mid])) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+
+			return false;
+		}
+	}
+}
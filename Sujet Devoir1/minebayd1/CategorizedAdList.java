@@ -5,9 +5,20 @@
 package minebayd1;
 
 import java.lang.classfile.ClassBuilder;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static minebayd1.Category.*;
 
@@ -31,7 +42,54 @@ import static minebayd1.Category.*;
  * 
  * 
  * Dans ce but, CategorizedAdList utilise une liste distincte (une ArrayList)
- * pour chaque catégorie.
+ * pour chaque catégorie. Chacune de ces listes est maintenue triée par date au
+ * moment de l'ajout (de la plus ancienne à la plus récente, de sorte que l'ajout
+ * d'une nouvelle annonce se fait en fin de liste), ce qui permet d'accéder au
+ * ième élément d'une catégorie en temps constant. Une itération sur toutes
+ * les catégories fusionne ces listes à la volée: le curseur retient, pour
+ * chaque catégorie, le nombre d'annonces déjà parcourues, et chaque pas
+ * compare seulement la prochaine annonce de chaque catégorie.
+ * 
+ * 
+ * L'itération intégrée à cette liste est elle-même un AdListIterator. Les
+ * méthodes listIterator() et listIterator(Category) permettent d'obtenir, en
+ * temps constant, des curseurs indépendants de cette itération et les uns des
+ * autres, de sorte que plusieurs lecteurs puissent parcourir la même liste
+ * simultanément sans la cloner. Ces curseurs échouent rapidement (par une
+ * ConcurrentModificationException) si la liste est modifiée pendant leur
+ * parcours; les méthodes snapshotIterator() et snapshotIterator(Category)
+ * permettent au contraire de parcourir une vue figée de la liste, qui n'est pas
+ * affectée par ses modifications ultérieures. Les méthodes stream(),
+ * stream(Category) et parallelStream() parcourent de même les annonces, au
+ * moyen d'un Spliterator (AdSpliterator) qui se partage entre plusieurs
+ * threads en coupant les listes triées par recherche dichotomique. Enfin, les
+ * méthodes between et since renvoient, sans copie, une vue sur les annonces
+ * publiées dans un intervalle de dates, dont les bornes sont elles aussi
+ * localisées par recherche dichotomique.
+ * 
+ * 
+ * Les méthodes cheaperThan et cheapest s'appuient sur un index secondaire par
+ * catégorie, trié par prix, qui n'est construit que lors de la première
+ * recherche par prix dans cette catégorie puis maintenu par add et remove.
+ * Comme les autres méthodes de lecture, elles peuvent être appelées
+ * simultanément depuis plusieurs threads tant que la liste n'est pas modifiée:
+ * l'index construit par l'une d'elles n'est publié qu'une fois complet. Les
+ * modifications (add, addAll, remove) ne doivent en revanche pas être
+ * concurrentes de ces lectures.
+ * Les méthodes page permettent enfin de parcourir cette liste page par page, au
+ * moyen d'un jeton de continuation (PageToken) plutôt que d'index.
+ * 
+ * 
+ * Un index de hachage (un HashSet) contenant toutes les annonces de cette
+ * liste est maintenu en parallèle des listes triées, de sorte que contains ne
+ * parcourt aucune liste. Le nombre total d'annonces et le code de hashage de
+ * cette liste sont eux aussi maintenus au fil des ajouts et retraits.
+ * 
+ * 
+ * Un clone partage les listes triées et l'index de hachage de la liste
+ * d'origine (copie sur écriture): chacune de ces structures n'est copiée que
+ * lors de la première modification qui la concerne, dans le clone comme dans
+ * l'original. Un clone s'obtient ainsi en temps constant.
  * 
  * 
  * Les méthodes selectCategory, getSelectedCategory et
@@ -51,7 +109,10 @@ import static minebayd1.Category.*;
  * 
  * Les méthodes modifiant le contenu de cette liste (add et remove), entraine
  * une réinitialisation de l'itération en cours (même effet qu'un appel à la
- * méthode startIteration).
+ * méthode startIteration). Cette réinitialisation, comme celle effectuée par
+ * startIteration, selectCategory et clearSelectedCategory, n'a lieu qu'à la
+ * prochaine utilisation de l'itération: une suite d'ajouts ne coûte ainsi
+ * rien pour l'itération.
  * 
  * @invariant \var Optional&lt;Category&gt; optCat = getSelectedCategory();
  * @invariant getSelectedCategory() != null;
@@ -82,10 +143,20 @@ import static minebayd1.Category.*;
  */
 public class CategorizedAdList implements Cloneable {
 
-	private ArrayList<ClassifiedAd>[] tabCatAd; // tableau d'instance de ArrayList<ClassifiedAd>.
+	private static final Comparator<ClassifiedAd> BY_PRICE = Comparator.comparingInt(ClassifiedAd::getPrice)
+			.thenComparing(Comparator.reverseOrder());
+
+	private ArrayList<ClassifiedAd>[] tabCatAd; // tableau d'instance de ArrayList<ClassifiedAd>, chacune triée de la plus ancienne à la plus récente.
+	private boolean[] sharedCat; // sharedCat[i] si tabCatAd[i] est partagée avec un clone (copie sur écriture).
+	private HashSet<ClassifiedAd> adIndex; // toutes les annonces de tabCatAd, pour les tests d'appartenance.
+	private boolean sharedIndex; // si adIndex est partagé avec un clone (copie sur écriture).
+	private int nbAds; // nombre total d'annonces, maintenu par add et remove.
+	private int modCount; // nombre de modifications (add et remove) subies par cette liste.
+	private int hashAds; // somme des codes de hashage des annonces, maintenue par add et remove.
 	private Optional<Category> SelectedCategory; // pourra etre accedder par la methode getSelectedCategory().
-	private ClassifiedAd AdPointedTo;
-	private int IndxAdPointedTo;
+	private AtomicReferenceArray<ArrayList<ClassifiedAd>> priceIndex; // par catégorie, annonces triées par prix croissant, ou null tant qu'elles n'ont pas été demandées.
+	private AdListIterator cursor; // itération en cours, sur la catégorie sélectionnée.
+	private boolean cursorStale; // si cursor doit être réinitialisé avant sa prochaine utilisation.
 
 	/**
 	 * Initialise une nouvelle instance ne contenant aucune annonce.
@@ -100,14 +171,18 @@ public class CategorizedAdList implements Cloneable {
 	 * @ensures lastIndex() == -1;
 	 */
 	public CategorizedAdList() {
-		this.tabCatAd = new ArrayList[5];
+		// one list per category, the list of a category being at its ordinal.
+		this.tabCatAd = newBuckets(Category.values().length);
+		this.sharedCat = new boolean[this.tabCatAd.length];
+		this.adIndex = new HashSet<ClassifiedAd>();
+		this.priceIndex = new AtomicReferenceArray<ArrayList<ClassifiedAd>>(this.tabCatAd.length);
 
 		for (int i = 0; i < this.tabCatAd.length; i++) {
 			this.tabCatAd[i] = new ArrayList<ClassifiedAd>();
 		}
 
 		this.SelectedCategory = Optional.empty();
-
+		this.cursor = new AdListIterator(this, this.SelectedCategory);
 	}
 
 	/**
@@ -127,7 +202,7 @@ public class CategorizedAdList implements Cloneable {
 	 */
 	public void selectCategory(Category cat) {
 		this.SelectedCategory = Optional.ofNullable(cat);
-		this.startIteration();
+		this.cursorStale = true;
 	}
 
 	/**
@@ -158,7 +233,7 @@ public class CategorizedAdList implements Cloneable {
 	 */
 	public void clearSelectedCategory() {
 		this.SelectedCategory = Optional.empty(); // Optional.empty() retourne une instance vide d'un Optional object.
-		this.startIteration();
+		this.cursorStale = true;
 	}
 
 	/**
@@ -177,39 +252,9 @@ public class CategorizedAdList implements Cloneable {
 	 * @ensures lastIndex() == -1;
 	 */
 	public void startIteration() {
-		// if no category was selected i just need to point to the newest ad.
-		if (!(this.getSelectedCategory().isPresent())) {
-			this.AdPointedTo = this.tabCatAd[0].get(0);
-			for (int i = 0; i < this.tabCatAd.length; i++) {
-				for (int j = 0; j < this.tabCatAd[i].size(); j++) {
-					if (this.AdPointedTo.isAfter(tabCatAd[i].get(j))) {
-						this.AdPointedTo = this.tabCatAd[i].get(j);
-					}
-				}
-			}
-		}
-
-		else {
-			// if a category is selected i need to point to the newest Ad of that specific,
-			// category
-
-			int indx = 0;
-
-			while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-				indx = indx + 1;
-			}
-
-			this.AdPointedTo = this.tabCatAd[indx].get(0);
-			for (int j = 0; j < this.tabCatAd[indx].size(); j++) {
-				if (this.AdPointedTo.isAfter(tabCatAd[indx].get(j))) {
-					this.AdPointedTo = this.tabCatAd[indx].get(j);
-				}
-			}
-
-		}
-
-		this.IndxAdPointedTo = -1;
-
+		// the reset itself is deferred to the next use of the cursor, so that a
+		// run of add calls costs nothing for the iteration.
+		this.cursorStale = true;
 	}
 
 	/**
@@ -234,40 +279,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public boolean hasNext() {
-
-		if (size() == 0) {
-			return false;
-		}
-
-		if (!(this.getSelectedCategory().isPresent())) {
-
-			for (int i = 0; i < this.tabCatAd.length; i++) {
-				for (int j = 0; j < this.tabCatAd[i].size(); j++) {
-					if (this.AdPointedTo.isBefore(tabCatAd[i].get(j))) {
-						return true;
-					}
-				}
-			}
-		}
-
-		else {
-			// if a category is selected.
-
-			int indx = 0;
-
-			while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-				indx = indx + 1;
-			}
-
-			for (int j = 0; j < this.tabCatAd[indx].size(); j++) {
-				if (this.AdPointedTo.isBefore(tabCatAd[indx].get(j))) {
-					return true;
-				}
-			}
-
-		}
-
-		return false;
+		return this.cursor().hasNext();
 	}
 
 	/**
@@ -294,63 +306,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @ensures lastIndex() == previousIndex();
 	 */
 	public ClassifiedAd next() {
-
-		// for clearence :
-
-		// isBefore(ad) : Teste si cette annonce a été publiée avant l'annonce
-		// spécifiée.
-
-		// isAfter(ad) : Teste si cette annonce a été publié après l'annonce spécifiée.
-		ClassifiedAd nextJustOlderAd = null;
-
-		// in the case where no cat is selected.
-		if (!(this.getSelectedCategory().isPresent())) {
-
-			for (int i = 0; i < this.tabCatAd.length; i++) {
-				for (int j = 0; j < this.tabCatAd[i].size(); j++) {
-					// Find an Ad older than the AdPointedto.
-					if (this.AdPointedTo.isAfter(tabCatAd[i].get(j))) {
-						// Update nextJustOlderAd if we haven't set it yet, or if we found a newer
-						// "Older" Ad.
-						if (nextJustOlderAd == null || tabCatAd[i].get(j).isAfter(nextJustOlderAd)) {
-							nextJustOlderAd = tabCatAd[i].get(j);
-						}
-
-					}
-				}
-			}
-
-			this.IndxAdPointedTo += 1;
-			return nextJustOlderAd;
-
-		}
-
-		// if a category is selected.
-		else {
-
-			int indx = 0;
-
-			while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-				indx = indx + 1;
-			}
-
-			for (int j = 0; j < this.tabCatAd[indx].size(); j++) {
-				// Find an Ad older than the AdPointedto.
-				if (this.AdPointedTo.isAfter(tabCatAd[indx].get(j))) {
-					// Update nextJustOlderAd if we haven't set it yet, or if we found a newer
-					// "Older" Ad.
-					if (nextJustOlderAd == null || tabCatAd[indx].get(j).isAfter(nextJustOlderAd)) {
-						nextJustOlderAd = tabCatAd[indx].get(j);
-					}
-
-				}
-			}
-
-			this.IndxAdPointedTo += 1;
-			return nextJustOlderAd;
-
-		}
-
+		return this.cursor().next();
 	}
 
 	/**
@@ -377,20 +333,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public int nextIndex() {
-		if (this.getSelectedCategory().isEmpty()) {
-			if (!(hasNext())) {
-				return size();
-			}
-		}
-
-		if (this.getSelectedCategory().isPresent()) {
-			if (!(hasNext())) {
-				return size(this.SelectedCategory
-						.get());
-			}
-		}
-
-		return ++this.IndxAdPointedTo;
+		return this.cursor().nextIndex();
 	}
 
 	/**
@@ -410,40 +353,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public boolean hasPrevious() {
-
-		if (size() == 0) {
-			return false;
-		}
-
-		if (!(this.getSelectedCategory().isPresent())) {
-
-			for (int i = 0; i < this.tabCatAd.length; i++) {
-				for (int j = 0; j < this.tabCatAd[i].size(); j++) {
-					if (this.AdPointedTo.isAfter(tabCatAd[i].get(j))) {
-						return true;
-					}
-				}
-			}
-		}
-
-		else {
-			// if a category is selected.
-
-			int indx = 0;
-
-			while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-				indx = indx + 1;
-			}
-
-			for (int j = 0; j < this.tabCatAd[indx].size(); j++) {
-				if (this.AdPointedTo.isAfter(tabCatAd[indx].get(j))) {
-					return true;
-				}
-			}
-
-		}
-
-		return false;
+		return this.cursor().hasPrevious();
 	}
 
 	/**
@@ -471,59 +381,7 @@ public class CategorizedAdList implements Cloneable {
 	 * 
 	 */
 	public ClassifiedAd previous() {
-		// for clearence :
-
-		// isBefore(ad) : Teste si cette annonce a été publiée avant l'annonce
-		// spécifiée.
-
-		// isAfter(ad) : Teste si cette annonce a été publié après l'annonce spécifiée.
-		ClassifiedAd nextJustNewerAd = null;
-
-		// in the case where no cat is selected.
-		if (!(this.getSelectedCategory().isPresent())) {
-
-			for (int i = 0; i < this.tabCatAd.length; i++) {
-				for (int j = 0; j < this.tabCatAd[i].size(); j++) {
-					// Find an Ad newer than the AdPointedto.
-					if (this.AdPointedTo.isBefore(tabCatAd[i].get(j))) {
-
-						if (nextJustNewerAd == null || tabCatAd[i].get(j).isBefore(nextJustNewerAd)) {
-							nextJustNewerAd = tabCatAd[i].get(j);
-						}
-
-					}
-				}
-			}
-
-			this.IndxAdPointedTo -= 1;
-			return nextJustNewerAd;
-
-		}
-
-		// if a category is selected.
-		else {
-
-			int indx = 0;
-
-			while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-				indx = indx + 1;
-			}
-
-			for (int j = 0; j < this.tabCatAd[indx].size(); j++) {
-
-				if (this.AdPointedTo.isBefore(tabCatAd[indx].get(j))) {
-
-					if (nextJustNewerAd == null || tabCatAd[indx].get(j).isBefore(nextJustNewerAd)) {
-						nextJustNewerAd = tabCatAd[indx].get(j);
-					}
-
-				}
-			}
-
-			this.IndxAdPointedTo -= 1;
-			return nextJustNewerAd;
-
-		}
+		return this.cursor().previous();
 	}
 
 	/**
@@ -547,11 +405,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public int previousIndex() {
-		if (!(hasPrevious())) {
-			return -1;
-		}
-
-		return --this.IndxAdPointedTo;
+		return this.cursor().previousIndex();
 	}
 
 	/**
@@ -571,212 +425,705 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public int lastIndex() {
-		return this.IndxAdPointedTo;
+		return this.cursor().lastIndex();
 	}
 
 	/**
-	 * Renvoie l'élément d'index spécifié dans la liste des annonces de la catégorie
-	 * spécifiée. À la différence de la méthode get(int i), cette implémentation
-	 * effectue un accès direct au ième élément et peut donc être utilisée sans
-	 * pénalité pour effectuer une itération sur les éléments de la catégorie
-	 * spécifiée.
+	 * Renvoie un nouveau curseur sur toutes les annonces de cette liste, de la plus
+	 * récente à la plus ancienne, indépendant de l'itération en cours et de la
+	 * catégorie sélectionnée. La création de ce curseur s'effectue en temps
+	 * constant.
 	 * 
-	 * @param cat catégorie dans la quelle l'élement est recherché
-	 * @param i   rang de l'élément cherché dans la liste des éléments de la
-	 *            catégorie spécifiée
-	 * @return l'élément d'index spécifié dans la liste des annonces de la catégorie
-	 *         spécifiée
+	 * @return un nouveau curseur sur toutes les annonces de cette liste
 	 * 
-	 * @requires cat != null;
-	 * @requires i >= 0 && i < size(cat);
-	 * @ensures contains(\result);
-	 * @ensures \result.getCategory().equals(cat);
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().isEmpty();
+	 * @ensures !\result.hasPrevious();
+	 * @ensures \result.nextIndex() == 0;
+	 * @ensures \result.lastIndex() == -1;
 	 * 
 	 * @pure
 	 */
-	public ClassifiedAd get(Category cat, int i) {
-
-		// selectCategory(cat);
-
-		int indx = 0;
-
-		while (!(this.tabCatAd[indx].get(0).getCategory().equals(this.getSelectedCategory().get()))) {
-			indx = indx + 1;
-		}
-
-		return this.tabCatAd[0].get(i);
+	public AdListIterator listIterator() {
+		return new AdListIterator(this, Optional.empty());
 	}
 
 	/**
-	 * Renvoie l'élément d'index spécifié dans la liste des annonces. Cette
-	 * implémentation n'est pas adaptée à une utilisation pour effectuer des
-	 * itérations sur l'ensemble de cette liste. Pour effectuer une itération, il
-	 * est fortement recommandé d'utiliser les méthodes prévues à cet effet
-	 * (startIteration, hasNext, next, hasPrevious, previous, ...).
+	 * Renvoie un nouveau curseur sur les annonces de la catégorie spécifiée, de la
+	 * plus récente à la plus ancienne, indépendant de l'itération en cours et de la
+	 * catégorie sélectionnée. La création de ce curseur s'effectue en temps
+	 * constant.
 	 * 
-	 * @param i rang de l'élément cherché dans la liste des éléments
-	 * @return l'élément d'index spécifié dans la liste des annonces
+	 * @param cat la catégorie des annonces à parcourir
 	 * 
-	 * @requires i >= 0 && i < size();
-	 * @ensures contains(\result);
-	 * @ensures (\exists int i; i >= 0 && i < size(\result.getCategory());
-	 *          \result.equals(get(\result.getCategory(), i)));
+	 * @return un nouveau curseur sur les annonces de la catégorie spécifiée
+	 * 
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().equals(Optional.of(cat));
+	 * @ensures !\result.hasPrevious();
+	 * @ensures \result.nextIndex() == 0;
+	 * @ensures \result.lastIndex() == -1;
 	 * 
 	 * @pure
 	 */
-	public ClassifiedAd get(int i) {
-
-		startIteration();
-
-		while (hasNext() && this.IndxAdPointedTo != i) {
-			next();
-		}
-
-		return this.AdPointedTo;
+	public AdListIterator listIterator(Category cat) {
+		return new AdListIterator(this, Optional.of(cat));
 	}
 
 	/**
-	 * Ajoute l'élement spécifié dans cette liste. L'élement est inséré dans la
-	 * liste de manière à ce que la liste reste triée. L'itération en cours est
-	 * réinitialisée.
+	 * Renvoie un nouveau curseur sur toutes les annonces de cette liste telles
+	 * qu'elles sont au moment de cet appel. Ce curseur parcourt un clone de cette
+	 * liste: il n'est affecté par aucune modification ultérieure de cette liste et
+	 * ne lève donc jamais de ConcurrentModificationException. Grâce à la copie sur
+	 * écriture, la création de ce curseur s'effectue en temps constant, la
+	 * prochaine modification de chaque catégorie de cette liste en supportant le
+	 * coût de copie.
 	 * 
-	 * @param elt l'élement à ajouter
+	 * @return un nouveau curseur sur une vue figée de toutes les annonces de cette
+	 *         liste
 	 * 
-	 * @requires elt != null;
-	 * @requires !contains(elt);
-	 * @ensures contains(elt);
-	 * @ensures size() == \old(size()) + 1;
-	 * @ensures size(elt.getCategory()) == \old(size(elt.getCategory())) + 1;
-	 * @ensures (\forall Category cat; !cat.equals(elt.getCategory()); size(cat) ==
-	 *          \old(size(cat)));
-	 * @ensures !hasPrevious();
-	 * @ensures previousIndex() == -1;
-	 * @ensures nextIndex() == 0;
-	 * @ensures lastIndex() == -1;
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().isEmpty();
+	 * @ensures !\result.hasPrevious();
+	 * @ensures \result.nextIndex() == 0;
+	 * @ensures \result.lastIndex() == -1;
+	 * 
+	 * @pure
 	 */
-	public void add(ClassifiedAd elt) {
-
-		int indx = 0;
-
-		while (!(this.tabCatAd[indx].get(0).getCategory().equals(elt.getCategory()))) {
-			indx = indx + 1;
-		}
-
-		this.tabCatAd[indx].add(elt);
-
-		startIteration();
+	public AdListIterator snapshotIterator() {
+		return this.clone().listIterator();
 	}
 
 	/**
-	 * Retire une occurence de l'élement spécifié de cette liste s'il y était
-	 * présent. Renvoie true si l'élement a effectivement été retiré de cette liste.
-	 * Si l'élément spécifié est effectivement retiré, l'itération en cours est
-	 * réinitialisée.
-	 * 
-	 * @param o l'élement à retirer de cette liste
+	 * Renvoie un Spliterator sur toutes les annonces de cette liste, de la plus
+	 * récente à la plus ancienne. Ce Spliterator est ordonné, de taille connue et
+	 * se partage en parties de taille connue, de sorte qu'un Stream parallèle
+	 * répartisse équitablement les annonces entre les threads. Il échoue
+	 * rapidement (par une ConcurrentModificationException) si cette liste est
+	 * modifiée pendant son parcours.
 	 * 
-	 * @return true si l'élement a effectivement été retiré de cette liste; false
-	 *         sinon
+	 * @return un Spliterator sur toutes les annonces de cette liste
 	 * 
-	 * @ensures !contains(o);
-	 * @ensures \result <==> \old(contains(o));
-	 * @ensures \result <==> (size() == \old(size()) - 1);
-	 * @ensures !\result <==> (size() == \old(size());
-	 * @ensures \result <==> (o instanceof ClassifiedAd) <br/>
-	 *          && (size(((ClassifiedAd) o).getCategory()) <br/>
-	 *          == \old(size(((ClassifiedAd) o).getCategory())) - 1);
-	 * @ensures (o instanceof ClassifiedAd) ==> (\forall Category cat;<br/>
-	 *          !cat.equals(((ClassifiedAd) o).getCategory()); <br/>
-	 *          size(cat) == \old(size(cat)));
-	 * @ensures \result ==> !hasPrevious();
-	 * @ensures \result ==> previousIndex() == -1;
-	 * @ensures \result ==> nextIndex() == 0;
-	 * @ensures \result ==> lastIndex() == -1;
-	 * @ensures !\result ==> (hasPrevious() == \old(hasPrevious()));
-	 * @ensures !\result ==> (previousIndex() == \old(previousIndex()));
-	 * @ensures !\result ==> (nextIndex() == \old(nextIndex()));
-	 * @ensures !\result ==> (lastIndex() == \old(lastIndex()));
+	 * @ensures \result != null;
+	 * @ensures \result.estimateSize() == size();
+	 * @ensures \result.hasCharacteristics(Spliterator.ORDERED);
+	 * @ensures \result.hasCharacteristics(Spliterator.SIZED);
+	 * @ensures \result.hasCharacteristics(Spliterator.SUBSIZED);
 	 * 
+	 * @pure
 	 */
-	public boolean remove(Object o) {
-
-		int indx = 0;
-
-		ClassifiedAd ad = (ClassifiedAd) o;
-
-		while (!(this.tabCatAd[indx].get(0).getCategory().equals(ad.getCategory()))) {
-			indx = indx + 1;
-		}
-
-		if (this.tabCatAd[indx].contains(o)) {
-			this.tabCatAd[indx].remove(o);
-			return true;
-		}
+	public Spliterator<ClassifiedAd> spliterator() {
+		return new AdSpliterator(this, Optional.empty());
+	}
 
-		return false;
+	/**
+	 * Renvoie un Stream séquentiel sur toutes les annonces de cette liste, de la
+	 * plus récente à la plus ancienne.
+	 * 
+	 * @return un Stream séquentiel sur toutes les annonces de cette liste
+	 * 
+	 * @ensures \result != null;
+	 * @ensures !\result.isParallel();
+	 * @ensures \result.count() == size();
+	 * 
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream() {
+		return StreamSupport.stream(this.spliterator(), false);
 	}
 
 	/**
-	 * Renvoie true si et seulement si l'argument spécifié est présent dans cette
-	 * liste.
+	 * Renvoie un Stream séquentiel sur les annonces de la catégorie spécifiée, de
+	 * la plus récente à la plus ancienne.
 	 * 
-	 * @param o l'objet dont on veut tester la présence dans cette liste
+	 * @param cat la catégorie des annonces à parcourir
 	 * 
-	 * @return true si l'argument spécifié est présent dans cette liste; false sinon
+	 * @return un Stream séquentiel sur les annonces de la catégorie spécifiée
 	 * 
-	 * @ensures \result <==> (\exists int i; i >= 0 && i < size();
-	 *          get(i).equals(o));
-	 * @ensures \result <==> (o instanceof ClassifiedAd) <br/>
-	 *          && (\exists int i; i >= 0 && i < size((ClassifiedAd)
-	 *          o).getCategory()); <br/>
-	 *          get(((ClassifiedAd) o).getCategory(), i).equals(o));
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size(cat);
 	 * 
 	 * @pure
 	 */
-	public boolean contains(Object o) {
-
-		int indx = 0;
-
-		ClassifiedAd ad = (ClassifiedAd) o;
-
-		while (!(this.tabCatAd[indx].get(0).getCategory().equals(ad.getCategory()))) {
-			indx = indx + 1;
-		}
-
-		if (this.tabCatAd[indx].contains(o)) {
-
-			return true;
-		}
-
-		return false;
+	public Stream<ClassifiedAd> stream(Category cat) {
+		return StreamSupport.stream(new AdSpliterator(this, Optional.of(cat)), false);
 	}
 
 	/**
-	 * Renvoie le nombre total d'éléments de cette liste.
+	 * Renvoie un Stream parallèle sur toutes les annonces de cette liste, de la
+	 * plus récente à la plus ancienne. Cette liste ne doit pas être modifiée
+	 * pendant l'exécution de ce Stream.
 	 * 
-	 * @return le nombre total d'éléments de cette liste
+	 * @return un Stream parallèle sur toutes les annonces de cette liste
 	 * 
-	 * @ensures \result >= 0;
-	 * @ensures \result == (\sum Category cat;true;size(cat));
+	 * @ensures \result != null;
+	 * @ensures \result.isParallel();
+	 * @ensures \result.count() == size();
 	 * 
 	 * @pure
 	 */
-	public int size() {
-
-		int cmp = 0;
-
-		for (int i = 0; i < this.tabCatAd.length; ++i) {
-			cmp = this.tabCatAd[i].size() + cmp;
-		}
-
-		return cmp;
+	public Stream<ClassifiedAd> parallelStream() {
+		return StreamSupport.stream(this.spliterator(), true);
 	}
 
 	/**
-	 * Renvoie le nombre d'annonces de cette liste appartenant à la catégorie
-	 * spécifiée.
+	 * Renvoie une vue non modifiable sur les annonces de cette liste publiées
+	 * entre les dates spécifiées (from inclus, to exclu), de la plus récente à la
+	 * plus ancienne. Les bornes de cette vue sont localisées par recherche
+	 * dichotomique dans chaque liste triée, en temps O(log(size())), et aucune
+	 * annonce n'est copiée. La vue renvoyée échoue (par une
+	 * ConcurrentModificationException) si cette liste est modifiée après cet
+	 * appel.
 	 * 
-	 * @param cat catégorie dont on souhaite connaître le nombre d'éléments
+	 * @param from la date de la plus ancienne annonce possible (incluse)
+	 * @param to   la date de fin de l'intervalle (exclue)
+	 * 
+	 * @return une vue sur les annonces de cette liste publiées entre from et to
+	 * 
+	 * @requires from != null;
+	 * @requires to != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; \result.contains(ad); contains(ad));
+	 * @ensures (\forall ClassifiedAd ad; contains(ad); \result.contains(ad) <==>
+	 *          !ad.getDate().isBefore(from) && ad.getDate().isBefore(to));
+	 * @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+	 *          !\result.get(i).isAfter(\result.get(i - 1)));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> between(Instant from, Instant to) {
+		return this.range(Optional.empty(), from, Optional.of(to));
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les annonces de la catégorie spécifiée
+	 * publiées entre les dates spécifiées (from inclus, to exclu), de la plus
+	 * récente à la plus ancienne. Les bornes de cette vue sont localisées par
+	 * recherche dichotomique, et aucune annonce n'est copiée.
+	 * 
+	 * @param cat  la catégorie des annonces
+	 * @param from la date de la plus ancienne annonce possible (incluse)
+	 * @param to   la date de fin de l'intervalle (exclue)
+	 * 
+	 * @return une vue sur les annonces de la catégorie spécifiée publiées entre
+	 *         from et to
+	 * 
+	 * @requires cat != null;
+	 * @requires from != null;
+	 * @requires to != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; \result.contains(ad);
+	 *          ad.getCategory().equals(cat));
+	 * @ensures (\forall ClassifiedAd ad; contains(ad) && ad.getCategory().equals(cat);
+	 *          \result.contains(ad) <==> !ad.getDate().isBefore(from) &&
+	 *          ad.getDate().isBefore(to));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> between(Category cat, Instant from, Instant to) {
+		return this.range(Optional.of(cat), from, Optional.of(to));
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les annonces de cette liste publiées
+	 * depuis la date spécifiée (incluse), de la plus récente à la plus ancienne.
+	 * 
+	 * @param from la date de la plus ancienne annonce possible (incluse)
+	 * 
+	 * @return une vue sur les annonces de cette liste publiées depuis from
+	 * 
+	 * @requires from != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; contains(ad); \result.contains(ad) <==>
+	 *          !ad.getDate().isBefore(from));
+	 * @ensures (\forall int i; i >= 0 && i < \result.size(); \result.get(i).equals(get(i)));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> since(Instant from) {
+		return this.range(Optional.empty(), from, Optional.empty());
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les annonces de la catégorie spécifiée
+	 * publiées depuis la date spécifiée (incluse), de la plus récente à la plus
+	 * ancienne.
+	 * 
+	 * @param cat  la catégorie des annonces
+	 * @param from la date de la plus ancienne annonce possible (incluse)
+	 * 
+	 * @return une vue sur les annonces de la catégorie spécifiée publiées depuis
+	 *         from
+	 * 
+	 * @requires cat != null;
+	 * @requires from != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; contains(ad) && ad.getCategory().equals(cat);
+	 *          \result.contains(ad) <==> !ad.getDate().isBefore(from));
+	 * @ensures (\forall int i; i >= 0 && i < \result.size(); \result.get(i).equals(get(cat, i)));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> since(Category cat, Instant from) {
+		return this.range(Optional.of(cat), from, Optional.empty());
+	}
+
+	/**
+	 * Renvoie une page d'au plus size annonces de cette liste, de la plus récente
+	 * à la plus ancienne: la première page si after est vide, sinon la page
+	 * suivant la position désignée par le jeton after (obtenu par
+	 * getNextToken() sur la page précédente).
+	 * 
+	 * Contrairement à get(int), cette pagination ne repose pas sur des index: la
+	 * page reprend juste après la dernière annonce de la page précédente, localisée
+	 * par recherche dichotomique dans chaque liste triée, de sorte que la page N
+	 * coûte autant que la première. Les annonces ajoutées entre deux pages, plus
+	 * récentes, ne décalent pas les pages suivantes: aucune annonce n'est renvoyée
+	 * deux fois ni omise.
+	 * 
+	 * @param after le jeton de la page précédente, ou Optional.empty() pour la
+	 *              première page
+	 * @param size  le nombre maximal d'annonces de la page
+	 * 
+	 * @return une page d'annonces de cette liste
+	 * 
+	 * @requires after != null;
+	 * @requires size > 0;
+	 * @ensures \result != null;
+	 * @ensures \result.getAds().size() <= size;
+	 * @ensures after.isEmpty() ==> (\forall int i; i >= 0 && i < \result.getAds().size();
+	 *          \result.getAds().get(i).equals(get(i)));
+	 * @ensures \result.getNextToken().isEmpty() <==> <br/>
+	 *          (\result.getAds().isEmpty() || \result.getAds().get(\result.getAds().size() - 1)
+	 *          .equals(get(size() - 1)));
+	 * 
+	 * @pure
+	 */
+	public AdPage page(Optional<PageToken> after, int size) {
+		return this.page(Optional.empty(), after, size);
+	}
+
+	/**
+	 * Renvoie une page d'au plus size annonces de la catégorie spécifiée, de la
+	 * plus récente à la plus ancienne: la première page si after est vide, sinon
+	 * la page suivant la position désignée par le jeton after. Comme page(after,
+	 * size), cette pagination reprend par recherche dichotomique après la
+	 * dernière annonce de la page précédente.
+	 * 
+	 * @param cat   la catégorie des annonces
+	 * @param after le jeton de la page précédente, ou Optional.empty() pour la
+	 *              première page
+	 * @param size  le nombre maximal d'annonces de la page
+	 * 
+	 * @return une page d'annonces de la catégorie spécifiée
+	 * 
+	 * @requires cat != null;
+	 * @requires after != null;
+	 * @requires size > 0;
+	 * @ensures \result != null;
+	 * @ensures \result.getAds().size() <= size;
+	 * @ensures (\forall ClassifiedAd ad; \result.getAds().contains(ad);
+	 *          ad.getCategory().equals(cat));
+	 * @ensures after.isEmpty() ==> (\forall int i; i >= 0 && i < \result.getAds().size();
+	 *          \result.getAds().get(i).equals(get(cat, i)));
+	 * 
+	 * @pure
+	 */
+	public AdPage page(Category cat, Optional<PageToken> after, int size) {
+		return this.page(Optional.of(cat), after, size);
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les annonces de la catégorie spécifiée
+	 * dont le prix est strictement inférieur au prix spécifié, par prix croissant
+	 * (et, à prix égal, de la plus récente à la plus ancienne).
+	 * 
+	 * Ces annonces sont lues dans un index des annonces de cette catégorie trié
+	 * par prix. Cet index est construit lors du premier appel à cheaperThan ou à
+	 * cheapest pour cette catégorie, puis maintenu par add et remove: chaque appel
+	 * suivant coûte O(log(size(cat))), le parcours des k annonces de la vue
+	 * coûtant O(k). La vue renvoyée échoue (par une
+	 * ConcurrentModificationException) si cette catégorie est modifiée après cet
+	 * appel.
+	 * 
+	 * @param cat   la catégorie des annonces
+	 * @param price le prix au-dessous duquel les annonces sont renvoyées
+	 * 
+	 * @return une vue sur les annonces de la catégorie spécifiée moins chères que
+	 *         price
+	 * 
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; contains(ad) && ad.getCategory().equals(cat);
+	 *          \result.contains(ad) <==> ad.getPrice() < price);
+	 * @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+	 *          \result.get(i - 1).getPrice() <= \result.get(i).getPrice());
+	 */
+	public List<ClassifiedAd> cheaperThan(Category cat, int price) {
+		ArrayList<ClassifiedAd> byPrice = this.priceIndex(cat);
+
+		return Collections.unmodifiableList(byPrice.subList(0, priceBound(byPrice, price)));
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les k annonces les moins chères de la
+	 * catégorie spécifiée (toutes s'il y en a moins de k), par prix croissant (et,
+	 * à prix égal, de la plus récente à la plus ancienne). Comme pour cheaperThan,
+	 * ces annonces sont lues dans l'index par prix de cette catégorie.
+	 * 
+	 * @param cat la catégorie des annonces
+	 * @param k   le nombre maximal d'annonces renvoyées
+	 * 
+	 * @return une vue sur les k annonces les moins chères de la catégorie
+	 *         spécifiée
+	 * 
+	 * @requires cat != null;
+	 * @requires k >= 0;
+	 * @ensures \result != null;
+	 * @ensures \result.size() == Math.min(k, size(cat));
+	 * @ensures (\forall ClassifiedAd ad; contains(ad) && ad.getCategory().equals(cat)
+	 *          && !\result.contains(ad); <br/>
+	 *          (\forall ClassifiedAd cheap; \result.contains(cheap);
+	 *          cheap.getPrice() <= ad.getPrice()));
+	 */
+	public List<ClassifiedAd> cheapest(Category cat, int k) {
+		ArrayList<ClassifiedAd> byPrice = this.priceIndex(cat);
+
+		return Collections.unmodifiableList(byPrice.subList(0, Math.min(k, byPrice.size())));
+	}
+
+	/**
+	 * Renvoie un nouveau curseur sur les annonces de la catégorie spécifiée telles
+	 * qu'elles sont au moment de cet appel. Comme pour snapshotIterator(), ce
+	 * curseur n'est affecté par aucune modification ultérieure de cette liste.
+	 * 
+	 * @param cat la catégorie des annonces à parcourir
+	 * 
+	 * @return un nouveau curseur sur une vue figée des annonces de la catégorie
+	 *         spécifiée
+	 * 
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().equals(Optional.of(cat));
+	 * @ensures !\result.hasPrevious();
+	 * @ensures \result.nextIndex() == 0;
+	 * @ensures \result.lastIndex() == -1;
+	 * 
+	 * @pure
+	 */
+	public AdListIterator snapshotIterator(Category cat) {
+		return this.clone().listIterator(cat);
+	}
+
+	/**
+	 * Renvoie l'élément d'index spécifié dans la liste des annonces de la catégorie
+	 * spécifiée. À la différence de la méthode get(int i), cette implémentation
+	 * effectue un accès direct au ième élément et peut donc être utilisée sans
+	 * pénalité pour effectuer une itération sur les éléments de la catégorie
+	 * spécifiée.
+	 * 
+	 * @param cat catégorie dans la quelle l'élement est recherché
+	 * @param i   rang de l'élément cherché dans la liste des éléments de la
+	 *            catégorie spécifiée
+	 * @return l'élément d'index spécifié dans la liste des annonces de la catégorie
+	 *         spécifiée
+	 * 
+	 * @requires cat != null;
+	 * @requires i >= 0 && i < size(cat);
+	 * @ensures contains(\result);
+	 * @ensures \result.getCategory().equals(cat);
+	 * 
+	 * @pure
+	 */
+	public ClassifiedAd get(Category cat, int i) {
+		ArrayList<ClassifiedAd> bucket = this.bucket(cat);
+
+		// buckets are stored oldest first, index 0 being the newest ad.
+		return bucket.get(bucket.size() - 1 - i);
+	}
+
+	/**
+	 * Copie dans le tableau spécifié les plus récentes annonces de la catégorie
+	 * spécifiée, de la plus récente à la plus ancienne, et renvoie leur nombre:
+	 * dest.length annonces, ou toutes celles de la catégorie s'il y en a moins.
+	 * Les autres cases du tableau ne sont pas modifiées.
+	 * 
+	 * La liste de chaque catégorie étant triée par date, ces annonces sont les
+	 * dernières de cette liste: cette méthode s'exécute en temps O(dest.length),
+	 * sans aucune allocation, et ne modifie pas l'itération en cours.
+	 * 
+	 * @param cat  la catégorie des annonces
+	 * @param dest le tableau à remplir
+	 * 
+	 * @return le nombre d'annonces copiées dans dest
+	 * 
+	 * @requires cat != null;
+	 * @requires dest != null;
+	 * @ensures \result == Math.min(dest.length, size(cat));
+	 * @ensures (\forall int i; i >= 0 && i < \result; dest[i].equals(get(cat, i)));
+	 * 
+	 * @pure
+	 */
+	public int latest(Category cat, ClassifiedAd[] dest) {
+		ArrayList<ClassifiedAd> bucket = this.bucket(cat);
+		int count = Math.min(dest.length, bucket.size());
+
+		for (int i = 0; i < count; i++) {
+			dest[i] = bucket.get(bucket.size() - 1 - i);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Renvoie l'élément d'index spécifié dans la liste des annonces. Cette
+	 * implémentation effectue une sélection dans les listes triées des différentes
+	 * catégories en un temps logarithmique en size(); elle reste moins adaptée
+	 * qu'une itération pour parcourir l'ensemble de cette liste. Pour effectuer une
+	 * itération, il est fortement recommandé d'utiliser les méthodes prévues à cet
+	 * effet (startIteration, hasNext, next, hasPrevious, previous, ...).
+	 * 
+	 * @param i rang de l'élément cherché dans la liste des éléments
+	 * @return l'élément d'index spécifié dans la liste des annonces
+	 * 
+	 * @requires i >= 0 && i < size();
+	 * @ensures contains(\result);
+	 * @ensures (\exists int i; i >= 0 && i < size(\result.getCategory());
+	 *          \result.equals(get(\result.getCategory(), i)));
+	 * 
+	 * @pure
+	 */
+	public ClassifiedAd get(int i) {
+		// a private merge cursor, so that the iteration in progress is untouched.
+		int[] heads = new int[this.tabCatAd.length];
+		int remaining = i;
+
+		while (remaining > 0) {
+			remaining -= this.skipNewest(heads, remaining);
+		}
+
+		int indx = this.newerHead(heads);
+		return this.headAd(indx, heads[indx]);
+	}
+
+	/**
+	 * Ajoute l'élement spécifié dans cette liste. L'élement est inséré dans la
+	 * liste de manière à ce que la liste reste triée. L'itération en cours est
+	 * réinitialisée.
+	 * 
+	 * @param elt l'élement à ajouter
+	 * 
+	 * @requires elt != null;
+	 * @requires !contains(elt);
+	 * @ensures contains(elt);
+	 * @ensures size() == \old(size()) + 1;
+	 * @ensures size(elt.getCategory()) == \old(size(elt.getCategory())) + 1;
+	 * @ensures (\forall Category cat; !cat.equals(elt.getCategory()); size(cat) ==
+	 *          \old(size(cat)));
+	 * @ensures !hasPrevious();
+	 * @ensures previousIndex() == -1;
+	 * @ensures nextIndex() == 0;
+	 * @ensures lastIndex() == -1;
+	 */
+	public void add(ClassifiedAd elt) {
+		ArrayList<ClassifiedAd> bucket = this.ownedBucket(elt.getCategory());
+
+		// insert after every ad that is not newer, so that a fresh ad is appended.
+		bucket.add(upperBound(bucket, elt), elt);
+		this.ownedIndex().add(elt);
+
+		ArrayList<ClassifiedAd> byPrice = this.priceIndex.get(elt.getCategory().ordinal());
+		if (byPrice != null) {
+			byPrice.add(priceSlot(byPrice, elt), elt);
+		}
+
+		this.nbAds += 1;
+		this.modCount += 1;
+		this.hashAds += elt.hashCode();
+
+		startIteration();
+	}
+
+	/**
+	 * Ajoute à cette liste toutes les annonces de la collection spécifiée qui n'y
+	 * sont pas déjà présentes (les doublons de la collection n'étant ajoutés
+	 * qu'une fois). Renvoie true si cette liste a été modifiée. Si c'est le cas,
+	 * l'itération en cours est réinitialisée, une seule fois.
+	 * 
+	 * Les annonces ajoutées sont réparties par catégorie, chaque groupe est trié
+	 * une seule fois puis fusionné avec la liste triée de sa catégorie: l'ajout de
+	 * p annonces à une catégorie de m annonces coûte O(p log p + m), au lieu des p
+	 * insertions successives (et p réinitialisations de l'itération) d'une suite
+	 * d'appels à add.
+	 * 
+	 * @param ads les annonces à ajouter
+	 * 
+	 * @return true si cette liste a été modifiée; false sinon
+	 * 
+	 * @requires ads != null;
+	 * @requires !ads.contains(null);
+	 * @ensures (\forall ClassifiedAd ad; ads.contains(ad); contains(ad));
+	 * @ensures \result <==> size() > \old(size());
+	 * @ensures \result ==> !hasPrevious();
+	 * @ensures \result ==> previousIndex() == -1;
+	 * @ensures \result ==> nextIndex() == 0;
+	 * @ensures \result ==> lastIndex() == -1;
+	 * @ensures !\result ==> (nextIndex() == \old(nextIndex()));
+	 * @ensures !\result ==> (lastIndex() == \old(lastIndex()));
+	 */
+	public boolean addAll(Collection<ClassifiedAd> ads) {
+		ArrayList<ClassifiedAd>[] newAds = newBuckets(this.tabCatAd.length);
+		boolean modified = false;
+
+		// partition the new ads by category, skipping the ones already present.
+		for (ClassifiedAd ad : ads) {
+			if (!this.contains(ad) && this.ownedIndex().add(ad)) {
+				int indx = ad.getCategory().ordinal();
+
+				if (newAds[indx] == null) {
+					newAds[indx] = new ArrayList<ClassifiedAd>();
+				}
+
+				newAds[indx].add(ad);
+				this.nbAds += 1;
+				this.hashAds += ad.hashCode();
+				modified = true;
+			}
+		}
+
+		if (!modified) {
+			return false;
+		}
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			if (newAds[i] != null) {
+				// the natural order breaks date ties by sequence number, so any sort yields
+				// the order add() would have produced.
+				newAds[i].sort(null);
+				this.tabCatAd[i] = merge(this.tabCatAd[i], newAds[i]);
+				this.sharedCat[i] = false;
+
+				// the appended run is merged with the sorted index by the sort itself.
+				ArrayList<ClassifiedAd> byPrice = this.priceIndex.get(i);
+				if (byPrice != null) {
+					byPrice.addAll(newAds[i]);
+					byPrice.sort(BY_PRICE);
+				}
+			}
+		}
+
+		this.modCount += 1;
+		startIteration();
+		return true;
+	}
+
+	/**
+	 * Retire une occurence de l'élement spécifié de cette liste s'il y était
+	 * présent. Renvoie true si l'élement a effectivement été retiré de cette liste.
+	 * Si l'élément spécifié est effectivement retiré, l'itération en cours est
+	 * réinitialisée.
+	 * 
+	 * Un élément absent est écarté en temps constant par l'index de hachage. Un
+	 * élément présent est localisé par recherche dichotomique dans la liste triée
+	 * de sa catégorie puis retiré de cette liste, ce qui décale les annonces plus
+	 * récentes de cette catégorie: un retrait coûte donc O(log(n) + m), m étant le
+	 * nombre d'annonces de sa catégorie plus récentes que lui (le retrait de la
+	 * plus récente annonce d'une catégorie ne décale rien). Si l'index par prix de
+	 * cette catégorie a été construit, le retrait y décale de même les annonces
+	 * qui le suivent par prix.
+	 * 
+	 * @param o l'élement à retirer de cette liste
+	 * 
+	 * @return true si l'élement a effectivement été retiré de cette liste; false
+	 *         sinon
+	 * 
+	 * @ensures !contains(o);
+	 * @ensures \result <==> \old(contains(o));
+	 * @ensures \result <==> (size() == \old(size()) - 1);
+	 * @ensures !\result <==> (size() == \old(size());
+	 * @ensures \result <==> (o instanceof ClassifiedAd) <br/>
+	 *          && (size(((ClassifiedAd) o).getCategory()) <br/>
+	 *          == \old(size(((ClassifiedAd) o).getCategory())) - 1);
+	 * @ensures (o instanceof ClassifiedAd) ==> (\forall Category cat;<br/>
+	 *          !cat.equals(((ClassifiedAd) o).getCategory()); <br/>
+	 *          size(cat) == \old(size(cat)));
+	 * @ensures \result ==> !hasPrevious();
+	 * @ensures \result ==> previousIndex() == -1;
+	 * @ensures \result ==> nextIndex() == 0;
+	 * @ensures \result ==> lastIndex() == -1;
+	 * @ensures !\result ==> (hasPrevious() == \old(hasPrevious()));
+	 * @ensures !\result ==> (previousIndex() == \old(previousIndex()));
+	 * @ensures !\result ==> (nextIndex() == \old(nextIndex()));
+	 * @ensures !\result ==> (lastIndex() == \old(lastIndex()));
+	 * 
+	 */
+	public boolean remove(Object o) {
+		// an absent ad is rejected by the hash index without touching the lists.
+		if (!this.contains(o)) {
+			return false;
+		}
+
+		// the slot is found by binary search and only the newer ads are shifted.
+		int pos = this.indexInBucket(o);
+		ClassifiedAd ad = this.ownedBucket(((ClassifiedAd) o).getCategory()).remove(pos);
+		this.ownedIndex().remove(o);
+
+		// the stored ad, unlike an equal copy of it, has an exact slot in the price
+		// index.
+		ArrayList<ClassifiedAd> byPrice = this.priceIndex.get(ad.getCategory().ordinal());
+		if (byPrice != null) {
+			byPrice.remove(priceSlot(byPrice, ad));
+		}
+
+		this.nbAds -= 1;
+		this.modCount += 1;
+		this.hashAds -= o.hashCode();
+		startIteration();
+		return true;
+	}
+
+	/**
+	 * Renvoie true si et seulement si l'argument spécifié est présent dans cette
+	 * liste.
+	 * 
+	 * @param o l'objet dont on veut tester la présence dans cette liste
+	 * 
+	 * @return true si l'argument spécifié est présent dans cette liste; false sinon
+	 * 
+	 * @ensures \result <==> (\exists int i; i >= 0 && i < size();
+	 *          get(i).equals(o));
+	 * @ensures \result <==> (o instanceof ClassifiedAd) <br/>
+	 *          && (\exists int i; i >= 0 && i < size((ClassifiedAd)
+	 *          o).getCategory()); <br/>
+	 *          get(((ClassifiedAd) o).getCategory(), i).equals(o));
+	 * 
+	 * @pure
+	 */
+	public boolean contains(Object o) {
+		return (o instanceof ClassifiedAd) && this.adIndex.contains(o);
+	}
+
+	/**
+	 * Renvoie le nombre total d'éléments de cette liste.
+	 * 
+	 * @return le nombre total d'éléments de cette liste
+	 * 
+	 * @ensures \result >= 0;
+	 * @ensures \result == (\sum Category cat;true;size(cat));
+	 * 
+	 * @pure
+	 */
+	public int size() {
+		return this.nbAds;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de cette liste appartenant à la catégorie
+	 * spécifiée.
+	 * 
+	 * @param cat catégorie dont on souhaite connaître le nombre d'éléments
 	 * 
 	 * @return le nombre d'annonces de cette liste appartenant à la catégorie
 	 *         spécifiée
@@ -789,15 +1136,7 @@ public class CategorizedAdList implements Cloneable {
 	 * @pure
 	 */
 	public int size(Category cat) {
-	
-
-		int indx = 0;
-
-		while (!(this.tabCatAd[indx].get(0).getCategory().equals(cat))) {
-			indx = indx + 1;
-		}
-
-		return this.tabCatAd[indx].size();
+		return this.bucket(cat).size();
 	}
 
 	/**
@@ -834,24 +1173,30 @@ public class CategorizedAdList implements Cloneable {
 
 		CategorizedAdList x = (CategorizedAdList) obj;
 
-		CategorizedAdList A = this.clone();
-		CategorizedAdList B = x.clone();
-
-		A.startIteration();
-		B.startIteration();
+		// the O(1) characteristics are compared before any ad.
+		if (this.size() != x.size() || this.hashCode() != x.hashCode() || this.nextIndex() != x.nextIndex()
+				|| this.lastIndex() != x.lastIndex() || !this.getSelectedCategory().equals(x.getSelectedCategory())) {
+			return false;
+		}
 
-		while (A.hasNext() && B.hasNext()) {
-			A.next();
-			B.next();
+		// the merged order only depends on the sorted lists, so comparing them
+		// list by list, in place, is the same as comparing get(i) for every i.
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			ArrayList<ClassifiedAd> a = this.tabCatAd[i];
+			ArrayList<ClassifiedAd> b = x.tabCatAd[i];
 
-			if (!(A.AdPointedTo.equals(B.AdPointedTo))) {
+			if (a.size() != b.size()) {
 				return false;
 			}
+
+			for (int j = 0; j < a.size(); j++) {
+				if (!(a.get(j).equals(b.get(j)))) {
+					return false;
+				}
+			}
 		}
 
-		return this.size() == x.size() && this.previousIndex() == x.previousIndex() && this.nextIndex() == x.nextIndex()
-				&& this.lastIndex() == x.lastIndex() && this.getSelectedCategory().equals(x.getSelectedCategory())
-				&& this.hashCode() == x.hashCode();
+		return true;
 	}
 
 	/**
@@ -868,12 +1213,25 @@ public class CategorizedAdList implements Cloneable {
 	 */
 	@Override
 	public CategorizedAdList clone() {
-		CategorizedAdList clone = new CategorizedAdList();
-
-		for (int i = 0; i < this.tabCatAd.length; i++) {
-			clone.tabCatAd[i] = (ArrayList<ClassifiedAd>) this.tabCatAd[i].clone();
+		CategorizedAdList clone;
+
+		// the lists and the index are shared until one side modifies them; both
+		// sides must see them as shared, hence before super.clone() copies the flag.
+		Arrays.fill(this.sharedCat, true);
+		this.sharedIndex = true;
+
+		try {
+			// copies the counters, the selected category and the cursor indexes.
+			clone = (CategorizedAdList) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new InternalError(e);
 		}
 
+		clone.tabCatAd = this.tabCatAd.clone();
+		clone.sharedCat = this.sharedCat.clone();
+		clone.priceIndex = new AtomicReferenceArray<ArrayList<ClassifiedAd>>(this.tabCatAd.length);
+		clone.cursor = this.cursor().copyFor(clone);
+
 		return clone;
 	}
 
@@ -886,13 +1244,8 @@ public class CategorizedAdList implements Cloneable {
 	 */
 	@Override
 	public int hashCode() {
-		int hashint = 0;
-
-		for (int i = 0; i < this.tabCatAd.length; i++) {
-			hashint = this.tabCatAd[i].hashCode() + hashint;
-		}
-
-		return hashint;
+		// the sum does not depend on the order, which the sorted lists fix anyway.
+		return this.hashAds;
 	}
 
 	/**
@@ -916,4 +1269,433 @@ public class CategorizedAdList implements Cloneable {
 	public String toString() {
 		return "" + this.lastIndex() + "" + nextIndex() + "" + previousIndex() + this.getSelectedCategory().toString();
 	}
+
+	/**
+	 * Renvoie le nombre de modifications (add et remove) subies par cette liste,
+	 * permettant aux curseurs de détecter une modification concurrente.
+	 */
+	int modCount() {
+		return this.modCount;
+	}
+
+	/**
+	 * Renvoie la liste (triée) des annonces de la catégorie d'index spécifié. Cette
+	 * liste ne doit pas être modifiée.
+	 */
+	ArrayList<ClassifiedAd> bucketAt(int indx) {
+		return this.tabCatAd[indx];
+	}
+
+	/**
+	 * Renvoie la liste (triée) des annonces de la catégorie spécifiée.
+	 */
+	private ArrayList<ClassifiedAd> bucket(Category cat) {
+		return this.tabCatAd[cat.ordinal()];
+	}
+
+	/**
+	 * Renvoie la liste (triée) des annonces de la catégorie spécifiée, après
+	 * l'avoir copiée si elle était partagée avec un clone, de sorte qu'elle puisse
+	 * être modifiée.
+	 */
+	private ArrayList<ClassifiedAd> ownedBucket(Category cat) {
+		int indx = cat.ordinal();
+
+		if (this.sharedCat[indx]) {
+			this.tabCatAd[indx] = new ArrayList<ClassifiedAd>(this.tabCatAd[indx]);
+			this.sharedCat[indx] = false;
+		}
+
+		return this.tabCatAd[indx];
+	}
+
+	/**
+	 * Renvoie l'index de hachage de cette liste, après l'avoir copié s'il était
+	 * partagé avec un clone, de sorte qu'il puisse être modifié.
+	 */
+	private HashSet<ClassifiedAd> ownedIndex() {
+		if (this.sharedIndex) {
+			this.adIndex = new HashSet<ClassifiedAd>(this.adIndex);
+			this.sharedIndex = false;
+		}
+
+		return this.adIndex;
+	}
+
+	/**
+	 * Renvoie la jème plus récente annonce de la catégorie d'index spécifié.
+	 */
+	ClassifiedAd headAd(int indx, int j) {
+		return this.tabCatAd[indx].get(this.tabCatAd[indx].size() - 1 - j);
+	}
+
+	/**
+	 * Renvoie l'index de la catégorie dont la prochaine annonce à parcourir est la
+	 * plus récente, heads[i] étant le nombre d'annonces déjà parcourues dans la
+	 * catégorie d'index i, selon l'ordre total de compareTo (date, puis numéro de
+	 * séquence). Renvoie -1 si toutes les annonces ont été parcourues.
+	 */
+	int newerHead(int[] heads) {
+		int newer = -1;
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			if (heads[i] < this.tabCatAd[i].size()
+					&& (newer == -1 || this.headAd(i, heads[i]).compareTo(this.headAd(newer, heads[newer])) > 0)) {
+				newer = i;
+			}
+		}
+
+		return newer;
+	}
+
+	/**
+	 * Fait avancer le curseur de fusion heads d'au moins une et d'au plus
+	 * remaining annonces, toutes parmi les remaining prochaines annonces de
+	 * l'itération fusionnée, et renvoie le nombre d'annonces ainsi passées.
+	 * 
+	 * Chaque catégorie non épuisée propose l'annonce située step positions plus
+	 * loin, où step vaut remaining divisé par le nombre de ces catégories. Dans la
+	 * catégorie dont la proposition est la plus récente, toutes les annonces
+	 * jusqu'à cette proposition sont précédées d'au plus step annonces de chaque
+	 * catégorie et peuvent donc être passées d'un coup. Chaque appel réduit ainsi
+	 * remaining d'une fraction constante (ou épuise une catégorie), de sorte qu'une
+	 * sélection ne demande qu'un nombre logarithmique d'appels.
+	 * 
+	 * @requires remaining > 0;
+	 */
+	private int skipNewest(int[] heads, int remaining) {
+		int active = 0;
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			if (heads[i] < this.tabCatAd[i].size()) {
+				active++;
+			}
+		}
+
+		int step = Math.max(1, remaining / active);
+		int newer = -1;
+		int newerStep = 0;
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			int t = Math.min(step, this.tabCatAd[i].size() - heads[i]);
+
+			if (t > 0 && (newer == -1
+					|| this.headAd(i, heads[i] + t - 1).compareTo(this.headAd(newer, heads[newer] + newerStep - 1)) > 0)) {
+				newer = i;
+				newerStep = t;
+			}
+		}
+
+		heads[newer] += newerStep;
+		return newerStep;
+	}
+
+	/**
+	 * Renvoie l'index de la catégorie dont la dernière annonce parcourue est la
+	 * plus ancienne, c'est-à-dire celle qui a été parcourue en dernier par
+	 * newerHead. Renvoie -1 si aucune annonce n'a été parcourue.
+	 */
+	int olderPassedHead(int[] heads) {
+		int older = -1;
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			if (heads[i] > 0
+					&& (older == -1 || this.headAd(i, heads[i] - 1).compareTo(this.headAd(older, heads[older] - 1)) < 0)) {
+				older = i;
+			}
+		}
+
+		return older;
+	}
+
+	/**
+	 * Renvoie la position de l'objet spécifié dans la liste triée de sa
+	 * catégorie, ou -1 si cet objet n'est pas présent dans cette liste.
+	 * 
+	 * @requires o instanceof ClassifiedAd;
+	 */
+	private int indexInBucket(Object o) {
+		ClassifiedAd ad = (ClassifiedAd) o;
+		ArrayList<ClassifiedAd> bucket = this.bucket(ad.getCategory());
+
+		// the ad itself is found by its (date, sequence) key; an equal copy of it
+		// can only be among the ads sharing its date.
+		int at = lowerBound(bucket, ad);
+
+		if (at < bucket.size() && bucket.get(at) == ad) {
+			return at;
+		}
+
+		for (int pos = lowerBound(bucket, ad.getEpochNanos(), Long.MIN_VALUE); pos < bucket.size()
+				&& !bucket.get(pos).isAfter(ad); pos++) {
+			if (bucket.get(pos).equals(ad)) {
+				return pos;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Renvoie la page d'au plus size annonces de la catégorie spécifiée (de
+	 * toutes les catégories si cat est vide) suivant la position désignée par
+	 * after (à partir de la plus récente annonce si after est vide).
+	 */
+	private AdPage page(Optional<Category> cat, Optional<PageToken> after, int size) {
+		int[] lo = new int[this.tabCatAd.length];
+		int[] hi = new int[this.tabCatAd.length];
+		long afterDate = after.isPresent() ? ClassifiedAd.epochNanos(after.get().getDate()) : 0;
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			ArrayList<ClassifiedAd> bucket = this.tabCatAd[i];
+
+			if (cat.isPresent() && cat.get().ordinal() != i) {
+				lo[i] = bucket.size();
+				hi[i] = bucket.size();
+			} else if (after.isEmpty()) {
+				hi[i] = bucket.size();
+			} else {
+				// the ads following the token are those preceding its (date, sequence)
+				// key, whatever their category.
+				hi[i] = lowerBound(bucket, afterDate, after.get().getSequence());
+			}
+		}
+
+		AdSpliterator rest = new AdSpliterator(this, lo, hi);
+		List<ClassifiedAd> ads = new ArrayList<ClassifiedAd>(size);
+
+		while (ads.size() < size && rest.estimateSize() > 0) {
+			rest.tryAdvance(ads::add);
+		}
+
+		if (ads.isEmpty() || rest.estimateSize() == 0) {
+			return new AdPage(ads, Optional.empty());
+		}
+
+		ClassifiedAd last = ads.get(ads.size() - 1);
+		return new AdPage(ads, Optional.of(new PageToken(last.getDate(), last.getSequence())));
+	}
+
+	/**
+	 * Renvoie une vue sur les annonces de la catégorie spécifiée (de toutes les
+	 * catégories si cat est vide) publiées depuis from et avant to (sans limite si
+	 * to est vide).
+	 */
+	private AdRangeView range(Optional<Category> cat, Instant from, Optional<Instant> to) {
+		int[] lo = new int[this.tabCatAd.length];
+		int[] hi = new int[this.tabCatAd.length];
+
+		for (int i = 0; i < this.tabCatAd.length; i++) {
+			ArrayList<ClassifiedAd> bucket = this.tabCatAd[i];
+
+			if (cat.isPresent() && cat.get().ordinal() != i) {
+				// an empty range above the newest ad leaves the view indexes alone.
+				lo[i] = bucket.size();
+				hi[i] = bucket.size();
+			} else {
+				hi[i] = to.isPresent() ? lowerBound(bucket, to.get()) : bucket.size();
+				lo[i] = Math.min(lowerBound(bucket, from), hi[i]);
+			}
+		}
+
+		return new AdRangeView(this, cat, lo, hi);
+	}
+
+	/**
+	 * Renvoie l'index par prix de la catégorie spécifiée, après l'avoir construit
+	 * s'il ne l'était pas encore.
+	 * 
+	 * Cette méthode pouvant être appelée par plusieurs lecteurs simultanés, l'index
+	 * est entièrement construit avant d'être publié par un compareAndSet: un
+	 * lecteur ne voit jamais un index partiellement trié et, si deux lecteurs le
+	 * construisent en même temps, tous deux utilisent celui qui a été publié.
+	 */
+	private ArrayList<ClassifiedAd> priceIndex(Category cat) {
+		int indx = cat.ordinal();
+		ArrayList<ClassifiedAd> byPrice = this.priceIndex.get(indx);
+
+		if (byPrice == null) {
+			ArrayList<ClassifiedAd> built = new ArrayList<ClassifiedAd>(this.tabCatAd[indx]);
+			built.sort(BY_PRICE);
+
+			// a concurrent reader may have published its own copy first.
+			if (!this.priceIndex.compareAndSet(indx, null, built)) {
+				return this.priceIndex.get(indx);
+			}
+			byPrice = built;
+		}
+
+		return byPrice;
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de l'index par prix spécifié qui ne
+	 * précède pas l'annonce spécifiée (byPrice.size() s'il n'y en a pas).
+	 */
+	private static int priceSlot(ArrayList<ClassifiedAd> byPrice, ClassifiedAd ad) {
+		int lo = 0;
+		int hi = byPrice.size();
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (BY_PRICE.compare(byPrice.get(mid), ad) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de l'index par prix spécifié dont le prix
+	 * n'est pas inférieur au prix spécifié (byPrice.size() s'il n'y en a pas).
+	 */
+	private static int priceBound(ArrayList<ClassifiedAd> byPrice, int price) {
+		int lo = 0;
+		int hi = byPrice.size();
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (byPrice.get(mid).getPrice() < price) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie le curseur de l'itération en cours, après l'avoir réinitialisé (sur
+	 * la catégorie sélectionnée) si un appel à startIteration, selectCategory ou
+	 * clearSelectedCategory a eu lieu depuis sa dernière utilisation.
+	 */
+	private AdListIterator cursor() {
+		if (this.cursorStale) {
+			if (this.cursor.getCategory().equals(this.SelectedCategory)) {
+				this.cursor.reset();
+			} else {
+				this.cursor = new AdListIterator(this, this.SelectedCategory);
+			}
+
+			this.cursorStale = false;
+		}
+
+		return this.cursor;
+	}
+
+	/**
+	 * Renvoie une nouvelle liste contenant les éléments des deux listes triées
+	 * spécifiées, triée de la plus ancienne à la plus récente annonce selon
+	 * l'ordre de compareTo.
+	 */
+	private static ArrayList<ClassifiedAd> merge(ArrayList<ClassifiedAd> older, ArrayList<ClassifiedAd> newer) {
+		ArrayList<ClassifiedAd> merged = new ArrayList<ClassifiedAd>(older.size() + newer.size());
+		int i = 0;
+		int j = 0;
+
+		while (i < older.size() && j < newer.size()) {
+			if (newer.get(j).compareTo(older.get(i)) < 0) {
+				merged.add(newer.get(j++));
+			} else {
+				merged.add(older.get(i++));
+			}
+		}
+
+		merged.addAll(older.subList(i, older.size()));
+		merged.addAll(newer.subList(j, newer.size()));
+		return merged;
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de la liste triée spécifiée qui ne
+	 * précède pas l'annonce spécifiée dans l'ordre de compareTo (bucket.size()
+	 * s'il n'y en a pas).
+	 */
+	private static int lowerBound(ArrayList<ClassifiedAd> bucket, ClassifiedAd ad) {
+		int lo = 0;
+		int hi = bucket.size();
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (bucket.get(mid).compareTo(ad) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de la liste triée spécifiée qui n'a pas
+	 * été publié avant la date spécifiée (bucket.size() s'il n'y en a pas).
+	 */
+	private static int lowerBound(ArrayList<ClassifiedAd> bucket, Instant date) {
+		return lowerBound(bucket, ClassifiedAd.epochNanos(date), Long.MIN_VALUE);
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de la liste triée spécifiée qui ne
+	 * précède pas, dans l'ordre de compareTo, une annonce de la date (en
+	 * nanosecondes depuis l'epoch) et du numéro de séquence spécifiés
+	 * (bucket.size() s'il n'y en a pas).
+	 */
+	private static int lowerBound(ArrayList<ClassifiedAd> bucket, long date, long seq) {
+		int lo = 0;
+		int hi = bucket.size();
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			ClassifiedAd ad = bucket.get(mid);
+
+			if (ad.getEpochNanos() < date || (ad.getEpochNanos() == date && ad.getSequence() < seq)) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie l'index du premier élément de la liste triée spécifiée qui suit
+	 * l'annonce spécifiée dans l'ordre de compareTo (bucket.size() s'il n'y en a
+	 * pas).
+	 */
+	static int upperBound(ArrayList<ClassifiedAd> bucket, ClassifiedAd ad) {
+		int lo = 0;
+		int hi = bucket.size();
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (bucket.get(mid).compareTo(ad) > 0) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie un nouveau tableau de length listes d'annonces, toutes null. Java
+	 * ne permettant pas de créer un tableau de type générique, ce tableau est
+	 * créé avec un type joker puis converti, ce qui est sûr tant qu'il ne reçoit
+	 * que des ArrayList&lt;ClassifiedAd&gt;.
+	 */
+	@SuppressWarnings("unchecked")
+	static ArrayList<ClassifiedAd>[] newBuckets(int length) {
+		return (ArrayList<ClassifiedAd>[]) new ArrayList<?>[length];
+	}
 }
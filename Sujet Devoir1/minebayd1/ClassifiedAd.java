@@ -5,6 +5,8 @@
 package minebayd1;
 
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -14,23 +16,48 @@ import java.time.Instant;
  * 
  * Cette classe est non modifiable.
  * 
+ * Chaque annonce reçoit en outre, à sa création, un numéro de séquence unique
+ * et croissant au sein de l'exécution. Deux annonces créées au même instant
+ * (même date) sont ainsi ordonnées par leur numéro de séquence: l'ordre défini
+ * par compareTo (date, puis numéro de séquence) est un ordre total strict, sur
+ * lequel reposent les structures triées de CategorizedAdList.
+ * 
+ * La date de création est conservée sous la forme d'un entier long (le nombre
+ * de nanosecondes écoulées depuis l'epoch), et non d'un Instant: une annonce
+ * n'alloue ainsi qu'un seul objet et isBefore, isAfter et compareTo se
+ * réduisent à des comparaisons d'entiers. L'Instant renvoyé par getDate est
+ * construit à la demande.
+ * 
+ * Si une réserve de descriptions (DescriptionPool) a été installée par
+ * setDescriptionPool, la description d'une nouvelle annonce est remplacée par
+ * la chaîne égale de cette réserve: les annonces de même description
+ * partagent alors une seule chaîne.
+ * 
  * @invariant getDescription() != null;
  * @invariant !getDescription().isBlank();
  * @invariant getCategory() != null;
  * @invariant getPrice() > 0;
  * @invariant getDate() != null;
+ * @invariant getSequence() >= 0;
  * 
  * @author Marc Champesme
  * @since 27/09/2024
  * @version 20/10/2024
  */
-public class ClassifiedAd {
+public class ClassifiedAd implements Comparable<ClassifiedAd> {
 
+	private static final AtomicLong NEXT_SEQUENCE = new AtomicLong(); // numéro de séquence de la prochaine annonce créée.
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final Instant MIN_DATE = Instant.ofEpochSecond(0, Long.MIN_VALUE); // plus ancienne date représentable en nanosecondes.
+	private static final Instant MAX_DATE = Instant.ofEpochSecond(0, Long.MAX_VALUE); // plus récente date représentable en nanosecondes.
+	private static volatile Optional<DescriptionPool> descriptionPool = Optional.empty(); // réserve des descriptions, si elle est installée.
 
 	private Category cat;
 	private String desc;
 	private int price;
-	private Instant date;
+	private long date; // date de création, en nanosecondes depuis l'epoch.
+	private long seq; // numéro de séquence de cette annonce, unique au sein de l'exécution.
+	private int hash; // code de hashage de cette annonce, calculé une fois pour toutes à sa création.
 
 
 	/**
@@ -51,12 +78,78 @@ public class ClassifiedAd {
 	 * @ensures getDate() != null;
 	 * @ensures \old(Instant.now()).isBefore(getDate());
 	 * @ensures getDate().isBefore(Instant.now());
+	 * @ensures getSequence() est supérieur au numéro de séquence de toute annonce
+	 *          créée auparavant;
 	 */
 	public ClassifiedAd(Category cat, String desc, int price) {
 		this.cat = cat;
-		this.desc = desc;
+		this.desc = shared(desc);
+		this.price = price;
+		this.date = epochNanos(Instant.now());
+		this.seq = NEXT_SEQUENCE.getAndIncrement();
+		this.hash = hash(cat, desc, price, this.date);
+	}
+
+	/**
+	 * Initialise une copie d'une annonce existante, de caractéristiques, de date
+	 * (en nanosecondes depuis l'epoch) et de numéro de séquence spécifiés. Cette
+	 * copie est égale (equals) à l'annonce d'origine, a le même code de hashage
+	 * et occupe la même place qu'elle dans l'ordre de compareTo. Ce constructeur
+	 * permet à un stockage qui ne conserve pas les annonces elles-mêmes (tel
+	 * OffHeapAdStore) de les reconstruire à la demande.
+	 * 
+	 * @requires cat != null;
+	 * @requires desc != null;
+	 * @requires !desc.isBlank();
+	 * @requires price > 0;
+	 * @requires seq >= 0;
+	 * @ensures getEpochNanos() == date;
+	 * @ensures getSequence() == seq;
+	 */
+	ClassifiedAd(Category cat, String desc, int price, long date, long seq) {
+		this.cat = cat;
+		this.desc = shared(desc);
 		this.price = price;
-		this.date = Instant.now();
+		this.date = date;
+		this.seq = seq;
+		this.hash = hash(cat, desc, price, date);
+	}
+
+	/**
+	 * Installe la réserve de descriptions spécifiée, qui sera consultée par les
+	 * annonces créées ensuite; Optional.empty() désinstalle la réserve en place.
+	 * 
+	 * @param pool un Optional pour la réserve de descriptions à installer
+	 * 
+	 * @requires pool != null;
+	 * @ensures getDescriptionPool() == pool;
+	 */
+	public static void setDescriptionPool(Optional<DescriptionPool> pool) {
+		descriptionPool = pool;
+	}
+
+	/**
+	 * Renvoie un Optional pour la réserve de descriptions consultée par les
+	 * constructeurs, vide si aucune réserve n'est installée.
+	 * 
+	 * @return un Optional pour la réserve de descriptions installée
+	 * 
+	 * @ensures \result != null;
+	 * 
+	 * @pure
+	 */
+	public static Optional<DescriptionPool> getDescriptionPool() {
+		return descriptionPool;
+	}
+
+	/**
+	 * Renvoie la chaîne de la réserve de descriptions égale à la description
+	 * spécifiée, ou cette description elle-même si aucune réserve n'est
+	 * installée.
+	 */
+	private static String shared(String desc) {
+		Optional<DescriptionPool> pool = descriptionPool;
+		return pool.isPresent() ? pool.get().intern(desc) : desc;
 	}
 
 	/**
@@ -67,9 +160,64 @@ public class ClassifiedAd {
 	 * @pure
 	 */
 	public Instant getDate() {
+		return Instant.ofEpochSecond(0, this.date);
+	}
+
+	/**
+	 * Renvoie la date de création de cette annonce, en nanosecondes depuis
+	 * l'epoch.
+	 * 
+	 * @ensures \result == epochNanos(getDate());
+	 * 
+	 * @pure
+	 */
+	long getEpochNanos() {
 		return this.date;
 	}
 
+	/**
+	 * Renvoie le nombre de nanosecondes écoulées entre l'epoch et la date
+	 * spécifiée, borné à Long.MIN_VALUE et Long.MAX_VALUE pour les dates que ce
+	 * nombre ne peut représenter (avant 1677 ou après 2262). Cette conversion
+	 * préserve l'ordre des dates: les bornes de recherche exprimées par un
+	 * Instant peuvent ainsi être comparées directement aux dates des annonces.
+	 * 
+	 * @requires date != null;
+	 * 
+	 * @pure
+	 */
+	static long epochNanos(Instant date) {
+		if (date.isAfter(MAX_DATE)) {
+			return Long.MAX_VALUE;
+		} else if (date.isBefore(MIN_DATE)) {
+			return Long.MIN_VALUE;
+		}
+
+		long seconds = date.getEpochSecond();
+		long nanos = date.getNano();
+
+		// a negative date borrows one second, so that the product cannot overflow
+		// in the last second before Long.MIN_VALUE.
+		if (seconds < 0 && nanos > 0) {
+			seconds += 1;
+			nanos -= NANOS_PER_SECOND;
+		}
+
+		return seconds * NANOS_PER_SECOND + nanos;
+	}
+
+	/**
+	 * Renvoie le numéro de séquence de cette annonce, qui départage les annonces
+	 * de même date.
+	 * 
+	 * @return le numéro de séquence de cette annonce
+	 * 
+	 * @pure
+	 */
+	public long getSequence() {
+		return this.seq;
+	}
+
 	/**
 	 * Renvoie la description de cette annonce.
 	 * 
@@ -96,7 +244,7 @@ public class ClassifiedAd {
 	 * @pure
 	 */
 	public boolean isBefore(ClassifiedAd ad) {
-		return this.getDate().isBefore(ad.getDate());
+		return this.date < ad.date;
 	}
 
 	/**
@@ -114,7 +262,39 @@ public class ClassifiedAd {
 	 * @pure
 	 */
 	public boolean isAfter(ClassifiedAd ad) {
-		return this.getDate().isAfter(ad.getDate());
+		return this.date > ad.date;
+	}
+
+	/**
+	 * Compare cette annonce à l'annonce spécifiée selon leur date puis, à date
+	 * égale, selon leur numéro de séquence. Renvoie un entier négatif, nul ou
+	 * positif selon que cette annonce est plus ancienne, identique ou plus
+	 * récente que l'annonce spécifiée.
+	 * 
+	 * Cet ordre affine celui de isBefore et isAfter. Il n'est pas compatible avec
+	 * equals: deux annonces distinctes de mêmes caractéristiques ont des numéros
+	 * de séquence différents.
+	 * 
+	 * @param ad l'annonce à comparer avec cette annonce
+	 * 
+	 * @return un entier négatif, nul ou positif selon que cette annonce précède,
+	 *         est ou suit l'annonce spécifiée
+	 * 
+	 * @requires ad != null;
+	 * @ensures isBefore(ad) ==> \result < 0;
+	 * @ensures isAfter(ad) ==> \result > 0;
+	 * @ensures \result == 0 <==> getSequence() == ad.getSequence();
+	 * @ensures Integer.signum(\result) == -Integer.signum(ad.compareTo(this));
+	 * 
+	 * @pure
+	 */
+	@Override
+	public int compareTo(ClassifiedAd ad) {
+		if (this.date != ad.date) {
+			return this.date < ad.date ? -1 : 1;
+		}
+
+		return Long.compare(this.seq, ad.seq);
 	}
 
 	/**
@@ -141,12 +321,15 @@ public class ClassifiedAd {
 		if (!(obj instanceof ClassifiedAd)) {
 			return false;
 		}else{
-			return (getDate().equals(((ClassifiedAd) obj).getDate())) && (getDescription().equals(((ClassifiedAd) obj).getDescription())) && (getCategory().equals(((ClassifiedAd) obj).getCategory())) && (getPrice() == ((ClassifiedAd) obj).getPrice());
+			return (this.date == ((ClassifiedAd) obj).date) && (getDescription().equals(((ClassifiedAd) obj).getDescription())) && (getCategory().equals(((ClassifiedAd) obj).getCategory())) && (getPrice() == ((ClassifiedAd) obj).getPrice());
 		}
 	}
 
 	/**
-	 * Renvoie un code de hashage pour cette ClassifiedAd.
+	 * Renvoie un code de hashage pour cette ClassifiedAd. Ce code, calculé à la
+	 * création de l'annonce, dépend de toutes les caractéristiques comparées par
+	 * equals, y compris la date: deux annonces identiques publiées à des dates
+	 * différentes ont ainsi, en général, des codes différents.
 	 * 
 	 * @return un code de hashage pour cette ClassifiedAd
 	 * 
@@ -154,7 +337,29 @@ public class ClassifiedAd {
 	 */
 	@Override
 	public int hashCode() {
-		return this.getPrice()+this.getDescription().hashCode()+this.getCategory().hashCode();
+		return this.hash;
+	}
+
+	/**
+	 * Renvoie le code de hashage d'une annonce des caractéristiques spécifiées.
+	 * Les caractéristiques sont combinées polynomialement puis mélangées (étape
+	 * finale de MurmurHash3), de sorte que chaque bit du résultat dépende de tous
+	 * les bits de chacune d'elles. La catégorie intervient par son rang, et non
+	 * par son code de hashage d'objet.
+	 */
+	private static int hash(Category cat, String desc, int price, long date) {
+		int h = desc.hashCode();
+		h = 31 * h + cat.ordinal();
+		h = 31 * h + price;
+		h = 31 * h + Long.hashCode(date);
+
+		// murmur3 fmix32 avalanche.
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
 	}
 
 	/**
@@ -0,0 +1,576 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Une copie en colonnes des annonces d'une CategorizedAdList, destinée aux
+ * analyses qui parcourent toutes les annonces (sommes de prix, filtres par
+ * date ou par description).
+ *
+ * Au lieu d'un tableau d'annonces, ce stockage retient un tableau par
+ * caractéristique: les dates (en nanosecondes depuis l'epoch), les numéros de
+ * séquence, les prix, les rangs des catégories et les identifiants des
+ * descriptions, chaque description distincte n'étant conservée qu'une fois
+ * dans un dictionnaire. La ligne r de chacun de ces tableaux décrit la même
+ * annonce. Les lignes sont regroupées par catégorie et, au sein d'une
+ * catégorie, rangées de la plus récente à la plus ancienne annonce: get(cat, i)
+ * est ainsi la ligne catStart[cat] + i. Un tableau supplémentaire donne les
+ * lignes dans l'ordre de get(int).
+ *
+ * Les agrégations (sumPrices, minPrice, maxPrice, count...) parcourent ces
+ * tableaux de types primitifs par des boucles simples, sans déréférencer
+ * aucune annonce. Aucune annonce n'est d'ailleurs conservée: get et stream
+ * construisent à chaque appel une nouvelle ClassifiedAd à partir des colonnes
+ * de sa ligne, égale à l'annonce copiée (equals, hashCode et compareTo) mais
+ * distincte de celle-ci; contains compare l'annonce cherchée aux colonnes sans
+ * construire aucune annonce.
+ *
+ * Un ColumnarAdStore est une copie figée de la liste à partir de laquelle il a
+ * été construit: les modifications ultérieures de cette liste ne l'affectent
+ * pas. Cette classe est non modifiable et n'offre, de l'interface d'une
+ * CategorizedAdList, que les lectures size, get, contains et stream; elle n'a
+ * ni add, ni remove, ni itération, ni catégorie sélectionnée.
+ *
+ * @invariant size() >= 0;
+ * @invariant size() == (\sum Category cat;true;size(cat));
+ * @invariant (\forall int i, j; i >= 0 && i < j && j < size(); <br/>
+ *            get(i).compareTo(get(j)) > 0);
+ * @invariant (\forall Category cat;true; <br/>
+ *            (\forall int i, j; i >= 0 && i < j && j < size(cat); <br/>
+ *            get(cat, i).compareTo(get(cat, j)) > 0));
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class ColumnarAdStore {
+
+	private long[] dates; // date de chaque ligne, en nanosecondes depuis l'epoch.
+	private long[] seqs; // numéro de séquence de chaque ligne.
+	private int[] prices; // prix de chaque ligne.
+	private byte[] categories; // rang de la catégorie de chaque ligne.
+	private int[] descIds; // identifiant, dans dictionary, de la description de chaque ligne.
+	private String[] dictionary; // descriptions distinctes, chacune conservée une seule fois.
+	private HashMap<String, Integer> dictionaryIds; // identifiant de chaque description du dictionnaire.
+	private int[] catStart; // première ligne de chaque catégorie, catStart[nbCat] valant size().
+	private int[] order; // lignes dans l'ordre de get(int), de la plus récente à la plus ancienne.
+
+	/**
+	 * Initialise un nouveau stockage en colonnes contenant les annonces de la
+	 * liste spécifiée.
+	 *
+	 * @param list la liste dont les annonces sont copiées
+	 *
+	 * @requires list != null;
+	 * @ensures size() == list.size();
+	 * @ensures (\forall Category cat;true; size(cat) == list.size(cat));
+	 * @ensures (\forall int i; i >= 0 && i < size(); get(i).equals(list.get(i)));
+	 */
+	public ColumnarAdStore(CategorizedAdList list) {
+		int nbCat = Category.values().length;
+		int size = list.size();
+
+		this.dates = new long[size];
+		this.seqs = new long[size];
+		this.prices = new int[size];
+		this.categories = new byte[size];
+		this.descIds = new int[size];
+		this.catStart = new int[nbCat + 1];
+
+		this.dictionaryIds = new HashMap<String, Integer>();
+		ArrayList<String> descriptions = new ArrayList<String>();
+		int row = 0;
+
+		for (int i = 0; i < nbCat; i++) {
+			ArrayList<ClassifiedAd> bucket = list.bucketAt(i);
+			this.catStart[i] = row;
+
+			// the buckets are sorted oldest first, the rows newest first.
+			for (int j = bucket.size() - 1; j >= 0; j--) {
+				ClassifiedAd ad = bucket.get(j);
+				Integer id = this.dictionaryIds.get(ad.getDescription());
+
+				if (id == null) {
+					id = descriptions.size();
+					this.dictionaryIds.put(ad.getDescription(), id);
+					descriptions.add(ad.getDescription());
+				}
+
+				this.dates[row] = ad.getEpochNanos();
+				this.seqs[row] = ad.getSequence();
+				this.prices[row] = ad.getPrice();
+				this.categories[row] = (byte) i;
+				this.descIds[row] = id;
+				row++;
+			}
+		}
+
+		this.catStart[nbCat] = row;
+		this.dictionary = descriptions.toArray(new String[descriptions.size()]);
+		this.order = this.mergedOrder();
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de ce stockage.
+	 *
+	 * @return le nombre d'annonces de ce stockage
+	 *
+	 * @ensures \result >= 0;
+	 *
+	 * @pure
+	 */
+	public int size() {
+		return this.dates.length;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return le nombre d'annonces de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result >= 0 && \result <= size();
+	 *
+	 * @pure
+	 */
+	public int size(Category cat) {
+		return this.catStart[cat.ordinal() + 1] - this.catStart[cat.ordinal()];
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce de ce stockage.
+	 *
+	 * @param i index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce
+	 *
+	 * @requires i >= 0 && i < size();
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(int i) {
+		return this.materialize(this.order[i]);
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 * @param i   index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @requires i >= 0 && i < size(cat);
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().equals(cat);
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(Category cat, int i) {
+		return this.materialize(this.catStart[cat.ordinal()] + i);
+	}
+
+	/**
+	 * Renvoie true si l'objet spécifié est une annonce de ce stockage. La ligne
+	 * de cette annonce est cherchée par dichotomie sur la colonne des dates de
+	 * sa catégorie, puis comparée sur les colonnes des prix et des
+	 * descriptions.
+	 *
+	 * @param o l'objet cherché
+	 *
+	 * @return true si l'objet spécifié est une annonce de ce stockage; false
+	 *         sinon
+	 *
+	 * @ensures !(o instanceof ClassifiedAd) ==> !\result;
+	 * @ensures \result <==> (\exists int i; i >= 0 && i < size(); get(i).equals(o));
+	 *
+	 * @pure
+	 */
+	public boolean contains(Object o) {
+		if (!(o instanceof ClassifiedAd)) {
+			return false;
+		}
+
+		ClassifiedAd ad = (ClassifiedAd) o;
+		Integer id = this.dictionaryIds.get(ad.getDescription());
+
+		if (id == null) {
+			return false;
+		}
+
+		long date = ad.getEpochNanos();
+		int lo = this.catStart[ad.getCategory().ordinal()];
+		int hi = this.catStart[ad.getCategory().ordinal() + 1];
+
+		// first row of the category not newer than the ad.
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (this.dates[mid] > date) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		int end = this.catStart[ad.getCategory().ordinal() + 1];
+		for (int row = lo; row < end && this.dates[row] == date; row++) {
+			if (this.prices[row] == ad.getPrice() && this.descIds[row] == id.intValue()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Renvoie un Stream sur toutes les annonces de ce stockage, de la plus récente
+	 * à la plus ancienne.
+	 *
+	 * @return un Stream sur les annonces de ce stockage
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size();
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream() {
+		return IntStream.range(0, this.size()).mapToObj(this::get);
+	}
+
+	/**
+	 * Renvoie un Stream sur les annonces de la catégorie spécifiée, de la plus
+	 * récente à la plus ancienne.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un Stream sur les annonces de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size(cat);
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream(Category cat) {
+		return IntStream.range(this.catStart[cat.ordinal()], this.catStart[cat.ordinal() + 1]).mapToObj(this::materialize);
+	}
+
+	/**
+	 * Renvoie la somme des prix de toutes les annonces de ce stockage.
+	 *
+	 * @return la somme des prix des annonces
+	 *
+	 * @ensures \result == (\sum int i; i >= 0 && i < size(); get(i).getPrice());
+	 *
+	 * @pure
+	 */
+	public long sumPrices() {
+		return sumPrices(this.prices, 0, this.size());
+	}
+
+	/**
+	 * Renvoie la somme des prix des annonces de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return la somme des prix des annonces de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result == (\sum int i; i >= 0 && i < size(cat); get(cat, i).getPrice());
+	 *
+	 * @pure
+	 */
+	public long sumPrices(Category cat) {
+		return sumPrices(this.prices, this.catStart[cat.ordinal()], this.catStart[cat.ordinal() + 1]);
+	}
+
+	/**
+	 * Renvoie la somme des prix des annonces publiées depuis from et avant to.
+	 * Ce filtre parcourt les colonnes des dates et des prix sans branchement
+	 * dépendant des données.
+	 *
+	 * @param from la date (incluse) à partir de laquelle les annonces sont
+	 *             comptées
+	 * @param to   la date (exclue) jusqu'à laquelle les annonces sont comptées
+	 *
+	 * @return la somme des prix des annonces publiées dans l'intervalle spécifié
+	 *
+	 * @requires from != null;
+	 * @requires to != null;
+	 * @ensures \result == (\sum int i; i >= 0 && i < size() &&
+	 *          !get(i).getDate().isBefore(from) && get(i).getDate().isBefore(to);
+	 *          get(i).getPrice());
+	 *
+	 * @pure
+	 */
+	public long sumPricesBetween(Instant from, Instant to) {
+		long lo = ClassifiedAd.epochNanos(from);
+		long hi = ClassifiedAd.epochNanos(to);
+		long sum = 0;
+
+		for (int row = 0; row < this.dates.length; row++) {
+			long date = this.dates[row];
+			sum += (date >= lo & date < hi) ? this.prices[row] : 0;
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Renvoie, pour chaque catégorie, la somme des prix de ses annonces publiées
+	 * depuis from et avant to. Les colonnes des dates, des prix et des catégories
+	 * sont parcourues en une seule passe.
+	 *
+	 * @param from la date (incluse) à partir de laquelle les annonces sont
+	 *             comptées
+	 * @param to   la date (exclue) jusqu'à laquelle les annonces sont comptées
+	 *
+	 * @return un tableau donnant, au rang de chaque catégorie, la somme des prix
+	 *         de ses annonces publiées dans l'intervalle spécifié
+	 *
+	 * @requires from != null;
+	 * @requires to != null;
+	 * @ensures \result.length == Category.values().length;
+	 *
+	 * @pure
+	 */
+	public long[] sumPricesByCategory(Instant from, Instant to) {
+		long lo = ClassifiedAd.epochNanos(from);
+		long hi = ClassifiedAd.epochNanos(to);
+		long[] sums = new long[this.catStart.length - 1];
+
+		for (int row = 0; row < this.dates.length; row++) {
+			long date = this.dates[row];
+			sums[this.categories[row]] += (date >= lo & date < hi) ? this.prices[row] : 0;
+		}
+
+		return sums;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces publiées depuis from et avant to.
+	 *
+	 * @param from la date (incluse) à partir de laquelle les annonces sont
+	 *             comptées
+	 * @param to   la date (exclue) jusqu'à laquelle les annonces sont comptées
+	 *
+	 * @return le nombre d'annonces publiées dans l'intervalle spécifié
+	 *
+	 * @requires from != null;
+	 * @requires to != null;
+	 * @ensures \result == (\num_of int i; i >= 0 && i < size();
+	 *          !get(i).getDate().isBefore(from) && get(i).getDate().isBefore(to));
+	 *
+	 * @pure
+	 */
+	public int countBetween(Instant from, Instant to) {
+		long lo = ClassifiedAd.epochNanos(from);
+		long hi = ClassifiedAd.epochNanos(to);
+		int count = 0;
+
+		for (int row = 0; row < this.dates.length; row++) {
+			long date = this.dates[row];
+			count += (date >= lo & date < hi) ? 1 : 0;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces dont le prix est strictement inférieur au prix
+	 * spécifié.
+	 *
+	 * @param price le prix maximal (exclu)
+	 *
+	 * @return le nombre d'annonces moins chères que price
+	 *
+	 * @ensures \result == (\num_of int i; i >= 0 && i < size(); get(i).getPrice() < price);
+	 *
+	 * @pure
+	 */
+	public int countCheaperThan(int price) {
+		int count = 0;
+
+		for (int row = 0; row < this.prices.length; row++) {
+			count += this.prices[row] < price ? 1 : 0;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de la description spécifiée. La description
+	 * n'est comparée qu'une fois, au dictionnaire; les lignes sont ensuite
+	 * filtrées sur leur identifiant de description.
+	 *
+	 * @param description la description des annonces
+	 *
+	 * @return le nombre d'annonces de la description spécifiée
+	 *
+	 * @requires description != null;
+	 * @ensures \result == (\num_of int i; i >= 0 && i < size();
+	 *          get(i).getDescription().equals(description));
+	 *
+	 * @pure
+	 */
+	public int count(String description) {
+		Integer id = this.dictionaryIds.get(description);
+
+		if (id == null) {
+			return 0;
+		}
+
+		int count = 0;
+		for (int row = 0; row < this.descIds.length; row++) {
+			count += this.descIds[row] == id.intValue() ? 1 : 0;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Renvoie le nombre de descriptions distinctes des annonces de ce stockage.
+	 *
+	 * @return la taille du dictionnaire des descriptions
+	 *
+	 * @ensures \result >= 0 && \result <= size();
+	 *
+	 * @pure
+	 */
+	public int distinctDescriptions() {
+		return this.dictionary.length;
+	}
+
+	/**
+	 * Renvoie un OptionalInt pour le plus petit prix des annonces de la catégorie
+	 * spécifiée, vide s'il n'y a aucune annonce dans cette catégorie.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un OptionalInt pour le plus petit prix de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.isEmpty() <==> size(cat) == 0;
+	 * @ensures \result.isPresent() ==> (\forall int i; i >= 0 && i < size(cat);
+	 *          get(cat, i).getPrice() >= \result.getAsInt());
+	 *
+	 * @pure
+	 */
+	public OptionalInt minPrice(Category cat) {
+		int from = this.catStart[cat.ordinal()];
+		int to = this.catStart[cat.ordinal() + 1];
+
+		if (from == to) {
+			return OptionalInt.empty();
+		}
+
+		int min = Integer.MAX_VALUE;
+		for (int row = from; row < to; row++) {
+			min = Math.min(min, this.prices[row]);
+		}
+
+		return OptionalInt.of(min);
+	}
+
+	/**
+	 * Renvoie un OptionalInt pour le plus grand prix des annonces de la catégorie
+	 * spécifiée, vide s'il n'y a aucune annonce dans cette catégorie.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un OptionalInt pour le plus grand prix de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.isEmpty() <==> size(cat) == 0;
+	 * @ensures \result.isPresent() ==> (\forall int i; i >= 0 && i < size(cat);
+	 *          get(cat, i).getPrice() <= \result.getAsInt());
+	 *
+	 * @pure
+	 */
+	public OptionalInt maxPrice(Category cat) {
+		int from = this.catStart[cat.ordinal()];
+		int to = this.catStart[cat.ordinal() + 1];
+
+		if (from == to) {
+			return OptionalInt.empty();
+		}
+
+		int max = Integer.MIN_VALUE;
+		for (int row = from; row < to; row++) {
+			max = Math.max(max, this.prices[row]);
+		}
+
+		return OptionalInt.of(max);
+	}
+
+	/**
+	 * Construit l'annonce de la ligne spécifiée à partir de ses colonnes.
+	 */
+	private ClassifiedAd materialize(int row) {
+		return new ClassifiedAd(Category.values()[this.categories[row]], this.dictionary[this.descIds[row]],
+				this.prices[row], this.dates[row], this.seqs[row]);
+	}
+
+	/**
+	 * Renvoie les lignes de ce stockage dans l'ordre de get(int), obtenu en
+	 * fusionnant les catégories sur les colonnes des dates et des numéros de
+	 * séquence.
+	 */
+	private int[] mergedOrder() {
+		int nbCat = this.catStart.length - 1;
+		int[] heads = Arrays.copyOf(this.catStart, nbCat);
+		int[] merged = new int[this.size()];
+
+		for (int k = 0; k < merged.length; k++) {
+			int newer = -1;
+
+			for (int i = 0; i < nbCat; i++) {
+				if (heads[i] < this.catStart[i + 1] && (newer == -1 || this.isNewer(heads[i], heads[newer]))) {
+					newer = i;
+				}
+			}
+
+			merged[k] = heads[newer]++;
+		}
+
+		return merged;
+	}
+
+	/**
+	 * Renvoie true si l'annonce de la ligne a suit celle de la ligne b dans
+	 * l'ordre de compareTo.
+	 */
+	private boolean isNewer(int a, int b) {
+		return this.dates[a] > this.dates[b] || (this.dates[a] == this.dates[b] && this.seqs[a] > this.seqs[b]);
+	}
+
+	/**
+	 * Renvoie la somme des prix des lignes from (incluse) à to (exclue).
+	 */
+	private static long sumPrices(int[] prices, int from, int to) {
+		long sum = 0;
+
+		for (int row = from; row < to; row++) {
+			sum += prices[row];
+		}
+
+		return sum;
+	}
+}
@@ -0,0 +1,199 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Une réserve de descriptions d'annonces, permettant à des annonces de même
+ * description de partager une unique chaîne de caractères (comme le fait
+ * String.intern, mais de taille bornée et propre à l'application).
+ *
+ * Une fois installée par ClassifiedAd.setDescriptionPool, cette réserve est
+ * consultée par chaque constructeur de ClassifiedAd: une description déjà
+ * présente dans la réserve est remplacée par la chaîne de la réserve, la copie
+ * passée au constructeur pouvant alors être libérée. Une nouvelle description
+ * est ajoutée à la réserve tant que celle-ci n'a pas atteint sa capacité;
+ * au-delà, les nouvelles descriptions ne sont plus partagées (aucune n'est
+ * jamais retirée de la réserve).
+ *
+ * La réserve repose sur une ConcurrentHashMap, dont les lectures ne prennent
+ * aucun verrou, et ses compteurs sur des LongAdder: des annonces peuvent ainsi
+ * être créées par plusieurs threads sans se disputer la réserve. Chaque ajout
+ * réserve d'abord une place par compareAndSet sur un compteur borné par la
+ * capacité, et la rend si un autre thread a ajouté la même description entre
+ * temps: des ajouts simultanés ne peuvent donc pas dépasser la capacité.
+ *
+ * Les octets économisés sont estimés, pour chaque description remplacée, par
+ * la taille de la chaîne remplacée et de son tableau de caractères (en-têtes
+ * compris, sur une JVM 64 bits à références compressées).
+ *
+ * @invariant capacity() > 0;
+ * @invariant size() >= 0 && size() <= capacity();
+ * @invariant hits() >= 0;
+ * @invariant bytesSaved() >= 0;
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class DescriptionPool {
+
+	private static final int STRING_HEADER = 24; // taille d'un objet String (en-tête et champs).
+	private static final int ARRAY_HEADER = 16; // taille de l'en-tête d'un tableau.
+
+	private final int capacity; // nombre maximal de descriptions de cette réserve.
+	private final ConcurrentHashMap<String, String> descriptions; // chaque description, associée à elle-même.
+	private final AtomicInteger reserved; // nombre de places réservées, au moins size() et au plus capacity.
+	private final LongAdder hits; // nombre de descriptions remplacées par celle de la réserve.
+	private final LongAdder bytesSaved; // estimation du nombre d'octets économisés.
+
+	/**
+	 * Initialise une nouvelle réserve vide, pouvant contenir au plus capacity
+	 * descriptions.
+	 *
+	 * @param capacity le nombre maximal de descriptions de cette réserve
+	 *
+	 * @throws IllegalArgumentException si capacity <= 0
+	 *
+	 * @ensures capacity() == capacity;
+	 * @ensures size() == 0;
+	 * @ensures hits() == 0;
+	 * @ensures bytesSaved() == 0;
+	 */
+	public DescriptionPool(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("La capacité d'une réserve de descriptions doit être positive: " + capacity);
+		}
+
+		this.capacity = capacity;
+		this.descriptions = new ConcurrentHashMap<String, String>();
+		this.reserved = new AtomicInteger();
+		this.hits = new LongAdder();
+		this.bytesSaved = new LongAdder();
+	}
+
+	/**
+	 * Renvoie la chaîne de cette réserve égale à la description spécifiée,
+	 * après l'y avoir ajoutée si elle n'y était pas et que la capacité de la
+	 * réserve le permet; renvoie la description spécifiée elle-même sinon.
+	 *
+	 * @param desc la description à partager
+	 *
+	 * @return une chaîne égale à desc, partagée si possible
+	 *
+	 * @requires desc != null;
+	 * @ensures \result.equals(desc);
+	 * @ensures \result != desc ==> hits() == \old(hits()) + 1;
+	 */
+	public String intern(String desc) {
+		String shared = this.descriptions.get(desc);
+
+		if (shared == null) {
+			if (!this.reserve()) {
+				return desc;
+			}
+
+			// concurrent creators of the same description keep the first one,
+			// the others give their place back.
+			shared = this.descriptions.putIfAbsent(desc, desc);
+			if (shared == null) {
+				return desc;
+			}
+			this.reserved.decrementAndGet();
+		}
+
+		if (shared != desc) {
+			this.hits.increment();
+			this.bytesSaved.add(footprint(desc));
+		}
+
+		return shared;
+	}
+
+	/**
+	 * Renvoie le nombre maximal de descriptions de cette réserve.
+	 *
+	 * @return la capacité de cette réserve
+	 *
+	 * @pure
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Renvoie le nombre de descriptions de cette réserve.
+	 *
+	 * @return le nombre de descriptions de cette réserve
+	 *
+	 * @pure
+	 */
+	public int size() {
+		return this.descriptions.size();
+	}
+
+	/**
+	 * Renvoie le nombre de descriptions remplacées par une chaîne de cette
+	 * réserve.
+	 *
+	 * @return le nombre de descriptions partagées grâce à cette réserve
+	 *
+	 * @pure
+	 */
+	public long hits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Renvoie une estimation du nombre d'octets de mémoire économisés grâce à
+	 * cette réserve.
+	 *
+	 * @return le nombre estimé d'octets économisés
+	 *
+	 * @pure
+	 */
+	public long bytesSaved() {
+		return this.bytesSaved.sum();
+	}
+
+	/**
+	 * Réserve une place pour une nouvelle description et renvoie true, ou
+	 * renvoie false si toutes les places sont déjà réservées.
+	 */
+	private boolean reserve() {
+		while (true) {
+			int n = this.reserved.get();
+
+			if (n >= this.capacity) {
+				return false;
+			}
+			if (this.reserved.compareAndSet(n, n + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Renvoie la taille estimée, en octets, de la chaîne spécifiée: l'objet
+	 * String et son tableau, un octet par caractère si tous ses caractères
+	 * tiennent sur un octet (chaînes compactes) et deux sinon, arrondis à 8
+	 * octets.
+	 */
+	private static long footprint(String s) {
+		int bytesPerChar = 1;
+
+		for (int i = 0; i < s.length() && bytesPerChar == 1; i++) {
+			if (s.charAt(i) > 0xFF) {
+				bytesPerChar = 2;
+			}
+		}
+
+		long array = (ARRAY_HEADER + (long) bytesPerChar * s.length() + 7) & ~7L;
+		return STRING_HEADER + array;
+	}
+}
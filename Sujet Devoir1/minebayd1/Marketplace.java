@@ -0,0 +1,274 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Le catalogue global de MinEbay: l'ensemble des annonces ouvertes (open ads)
+ * de tous les utilisateurs inscrits sur cette place de marché, triées par
+ * catégorie et par date.
+ *
+ * Ces annonces sont réunies dans une unique CategorizedAdList, maintenue au fil
+ * des opérations des utilisateurs: l'inscription d'un User y ajoute toutes ses
+ * annonces ouvertes (en un seul appel à addAll), une annonce créée par
+ * User.add y est ajoutée et une annonce vendue par User.buy en est retirée.
+ * Le fil des annonces les plus récentes, global ou par catégorie, se lit ainsi
+ * directement dans cette liste, sans fusionner à chaque requête les annonces de
+ * tous les utilisateurs.
+ *
+ * Un User ne peut être inscrit que sur une seule place de marché.
+ *
+ * @invariant getUsers() != null;
+ * @invariant (\forall User u; getUsers().contains(u); <br/>
+ *            (\forall int i; i >= 0 && i < u.size(AdState.OPEN, Optional.empty());
+ *            contains(u.get(AdState.OPEN, Optional.empty(), i))));
+ * @invariant (\forall int i, j; i >= 0 && i < j && j < size(); <br/>
+ *            !get(i).isBefore(get(j)));
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class Marketplace {
+
+	private List<User> users; // utilisateurs inscrits sur cette place de marché.
+	private CategorizedAdList openAds; // annonces ouvertes de tous les utilisateurs inscrits.
+
+	/**
+	 * Initialise une nouvelle place de marché, sans aucun utilisateur inscrit.
+	 *
+	 * @ensures getUsers().isEmpty();
+	 * @ensures size() == 0;
+	 */
+	public Marketplace() {
+		this.users = new ArrayList<User>();
+		this.openAds = new CategorizedAdList();
+	}
+
+	/**
+	 * Inscrit l'utilisateur spécifié sur cette place de marché: ses annonces
+	 * ouvertes sont ajoutées au catalogue global, puis le seront au fil de leur
+	 * création.
+	 *
+	 * @param user l'utilisateur à inscrire
+	 *
+	 * @requires user != null;
+	 * @requires user.getMarketplace().isEmpty();
+	 * @ensures getUsers().contains(user);
+	 * @ensures user.getMarketplace().get() == this;
+	 * @ensures size() == \old(size()) + user.size(AdState.OPEN, Optional.empty());
+	 */
+	public void register(User user) {
+		this.users.add(user);
+		user.setMarketplace(this);
+		this.openAds.addAll(user.stream(AdState.OPEN, Optional.empty()).toList());
+	}
+
+	/**
+	 * Renvoie une vue non modifiable sur les utilisateurs inscrits sur cette
+	 * place de marché, dans leur ordre d'inscription.
+	 *
+	 * @return les utilisateurs inscrits sur cette place de marché
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public List<User> getUsers() {
+		return Collections.unmodifiableList(this.users);
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces ouvertes de cette place de marché.
+	 *
+	 * @return le nombre d'annonces ouvertes de cette place de marché
+	 *
+	 * @ensures \result >= 0;
+	 *
+	 * @pure
+	 */
+	public int size() {
+		return this.openAds.size();
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces ouvertes de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return le nombre d'annonces ouvertes de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result >= 0 && \result <= size();
+	 *
+	 * @pure
+	 */
+	public int size(Category cat) {
+		return this.openAds.size(cat);
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce ouverte de cette place de marché.
+	 *
+	 * @param i index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce ouverte
+	 *
+	 * @requires i >= 0 && i < size();
+	 * @ensures \result != null;
+	 * @ensures contains(\result);
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(int i) {
+		return this.openAds.get(i);
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce ouverte de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 * @param i   index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce ouverte de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @requires i >= 0 && i < size(cat);
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().equals(cat);
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(Category cat, int i) {
+		return this.openAds.get(cat, i);
+	}
+
+	/**
+	 * Copie dans le tableau spécifié les plus récentes annonces ouvertes de la
+	 * catégorie spécifiée, de la plus récente à la plus ancienne, et renvoie leur
+	 * nombre. Le même tableau pouvant servir à chaque affichage de la page
+	 * d'accueil, cet appel s'exécute en temps O(dest.length), sans allocation.
+	 *
+	 * @param cat  la catégorie des annonces
+	 * @param dest le tableau à remplir
+	 *
+	 * @return le nombre d'annonces copiées dans dest
+	 *
+	 * @requires cat != null;
+	 * @requires dest != null;
+	 * @ensures \result == Math.min(dest.length, size(cat));
+	 * @ensures (\forall int i; i >= 0 && i < \result; dest[i].equals(get(cat, i)));
+	 *
+	 * @pure
+	 */
+	public int latest(Category cat, ClassifiedAd[] dest) {
+		return this.openAds.latest(cat, dest);
+	}
+
+	/**
+	 * Renvoie true si l'objet spécifié est une annonce ouverte de cette place de
+	 * marché.
+	 *
+	 * @param o l'objet cherché
+	 *
+	 * @return true si l'objet spécifié est une annonce ouverte de cette place de
+	 *         marché; false sinon
+	 *
+	 * @ensures !(o instanceof ClassifiedAd) ==> !\result;
+	 *
+	 * @pure
+	 */
+	public boolean contains(Object o) {
+		return this.openAds.contains(o);
+	}
+
+	/**
+	 * Renvoie un nouveau curseur sur toutes les annonces ouvertes de cette place
+	 * de marché, de la plus récente à la plus ancienne.
+	 *
+	 * @return un nouveau curseur sur le fil global des annonces ouvertes
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.nextIndex() == 0;
+	 *
+	 * @pure
+	 */
+	public AdListIterator listIterator() {
+		return this.openAds.listIterator();
+	}
+
+	/**
+	 * Renvoie un nouveau curseur sur les annonces ouvertes de la catégorie
+	 * spécifiée, de la plus récente à la plus ancienne.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un nouveau curseur sur le fil des annonces ouvertes de la catégorie
+	 *         spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.nextIndex() == 0;
+	 *
+	 * @pure
+	 */
+	public AdListIterator listIterator(Category cat) {
+		return this.openAds.listIterator(cat);
+	}
+
+	/**
+	 * Renvoie un Stream sur toutes les annonces ouvertes de cette place de
+	 * marché, de la plus récente à la plus ancienne.
+	 *
+	 * @return un Stream sur les annonces ouvertes
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size();
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream() {
+		return this.openAds.stream();
+	}
+
+	/**
+	 * Renvoie un Stream sur les annonces ouvertes de la catégorie spécifiée, de la
+	 * plus récente à la plus ancienne.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un Stream sur les annonces ouvertes de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size(cat);
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream(Category cat) {
+		return this.openAds.stream(cat);
+	}
+
+	/**
+	 * Ajoute au catalogue global l'annonce spécifiée, qui vient d'être créée par
+	 * un utilisateur inscrit.
+	 */
+	void opened(ClassifiedAd ad) {
+		this.openAds.add(ad);
+	}
+
+	/**
+	 * Retire du catalogue global l'annonce spécifiée, qui vient d'être vendue par
+	 * un utilisateur inscrit.
+	 */
+	void closed(ClassifiedAd ad) {
+		this.openAds.remove(ad);
+	}
+}
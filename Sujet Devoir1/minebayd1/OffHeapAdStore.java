@@ -0,0 +1,650 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Un stockage hors du tas (off-heap) des annonces d'un très grand catalogue,
+ * triées par catégorie et par date comme celles d'une CategorizedAdList.
+ *
+ * Ce stockage ne conserve aucun objet par annonce: chaque annonce y est un
+ * enregistrement de taille fixe (RECORD_SIZE octets: date en nanosecondes
+ * depuis l'epoch, numéro de séquence, position et longueur de sa description,
+ * prix) rangé dans les ByteBuffer directs propres à sa catégorie, de la plus
+ * ancienne à la plus récente annonce. Les descriptions sont écrites en UTF-8,
+ * à la suite les unes des autres, dans d'autres ByteBuffer directs (la réserve
+ * de chaînes). Le ramasse-miettes n'a ainsi à parcourir qu'un objet par bloc,
+ * quel que soit le nombre d'annonces.
+ *
+ * Un ByteBuffer étant indexé par un int, ni les enregistrements d'une
+ * catégorie ni la réserve de chaînes ne tiennent dans un seul ByteBuffer au-delà
+ * de 2 Gio. Ils sont donc découpés en blocs: CHUNK_RECORDS enregistrements par
+ * bloc pour chaque catégorie, ARENA_CHUNK octets par bloc pour la réserve de
+ * chaînes, dont les positions sont des long et dont une description peut
+ * s'étendre sur deux blocs consécutifs. Seul le dernier bloc de chaque suite
+ * grandit, en doublant de taille jusqu'à celle d'un bloc plein; les blocs
+ * pleins ne sont jamais recopiés. Le nombre d'annonces n'est ainsi limité que
+ * par celui que renvoie size(), soit Integer.MAX_VALUE.
+ *
+ * Une ClassifiedAd n'est construite qu'au moment d'être renvoyée (par get,
+ * latest ou stream): elle est égale (equals) à l'annonce ajoutée, a le même
+ * code de hashage et la même place dans l'ordre de compareTo, mais n'est pas
+ * le même objet. Les recherches (contains, get) comparent directement les
+ * enregistrements, sans construire d'annonce.
+ *
+ * Ce stockage ne permet que l'ajout d'annonces: la réserve de chaînes n'est
+ * jamais compactée. Un ajout dans l'ordre chronologique n'est qu'une écriture
+ * en fin de catégorie, alors qu'un ajout dans le désordre décale les
+ * enregistrements plus récents de sa catégorie (voir add): un grand catalogue
+ * doit donc être chargé de la plus ancienne à la plus récente annonce, comme le
+ * fait le constructeur à partir d'une CategorizedAdList.
+ *
+ * @invariant size() >= 0;
+ * @invariant size() == (\sum Category cat;true;size(cat));
+ * @invariant (\forall int i, j; i >= 0 && i < j && j < size(); <br/>
+ *            get(i).compareTo(get(j)) > 0);
+ * @invariant (\forall Category cat;true; <br/>
+ *            (\forall int i, j; i >= 0 && i < j && j < size(cat); <br/>
+ *            get(cat, i).compareTo(get(cat, j)) > 0));
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class OffHeapAdStore {
+
+	private static final int DATE = 0; // position de la date dans un enregistrement.
+	private static final int SEQ = 8; // position du numéro de séquence dans un enregistrement.
+	private static final int DESC_OFFSET = 16; // position, dans un enregistrement, de celle de la description dans la réserve.
+	private static final int PRICE = 24; // position du prix dans un enregistrement.
+	private static final int DESC_LENGTH = 28; // position de la longueur (en octets) de la description dans un enregistrement.
+	private static final int RECORD_SIZE = 32; // taille d'un enregistrement, alignée sur 8 octets.
+
+	private static final int CHUNK_SHIFT = 16; // logarithme en base 2 de CHUNK_RECORDS.
+	private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT; // nombre d'enregistrements d'un bloc plein (2 Mio).
+	private static final int ARENA_SHIFT = 20; // logarithme en base 2 de ARENA_CHUNK.
+	private static final int ARENA_CHUNK = 1 << ARENA_SHIFT; // taille en octets d'un bloc plein de la réserve de chaînes.
+
+	private ByteBuffer[][] records; // blocs des enregistrements de chaque catégorie, du plus ancien au plus récent.
+	private int[] counts; // nombre d'enregistrements de chaque catégorie.
+	private ByteBuffer[] arena; // blocs de la réserve des descriptions, encodées en UTF-8.
+	private long arenaSize; // nombre d'octets utilisés dans arena.
+	private int nbAds; // nombre total d'annonces.
+
+	/**
+	 * Initialise un nouveau stockage ne contenant aucune annonce.
+	 *
+	 * @ensures size() == 0;
+	 */
+	public OffHeapAdStore() {
+		int nbCat = Category.values().length;
+
+		this.records = new ByteBuffer[nbCat][];
+		this.counts = new int[nbCat];
+		for (int i = 0; i < nbCat; i++) {
+			this.records[i] = new ByteBuffer[] { ByteBuffer.allocateDirect(16 * RECORD_SIZE) };
+		}
+		this.arena = new ByteBuffer[] { ByteBuffer.allocateDirect(1024) };
+	}
+
+	/**
+	 * Initialise un nouveau stockage contenant les annonces de la liste
+	 * spécifiée.
+	 *
+	 * @param list la liste dont les annonces sont copiées
+	 *
+	 * @requires list != null;
+	 * @ensures size() == list.size();
+	 * @ensures (\forall Category cat;true; size(cat) == list.size(cat));
+	 * @ensures (\forall int i; i >= 0 && i < size(); get(i).equals(list.get(i)));
+	 */
+	public OffHeapAdStore(CategorizedAdList list) {
+		this();
+
+		// the buckets are sorted, so that every ad is appended.
+		for (int i = 0; i < this.records.length; i++) {
+			for (ClassifiedAd ad : list.bucketAt(i)) {
+				this.add(ad);
+			}
+		}
+	}
+
+	/**
+	 * Ajoute l'annonce spécifiée à ce stockage. L'enregistrement est inséré à sa
+	 * place dans sa catégorie; une nouvelle annonce, plus récente que les autres,
+	 * est ajoutée en fin de catégorie sans déplacer aucun enregistrement, en
+	 * temps constant amorti. Une annonce plus ancienne que d'autres de sa
+	 * catégorie décale au contraire chacun des enregistrements plus récents d'un
+	 * emplacement: un tel ajout coûte O(m), m étant le nombre d'annonces de sa
+	 * catégorie plus récentes qu'elle, soit O(size(cat)) au pire.
+	 *
+	 * @param ad l'annonce à ajouter
+	 *
+	 * @throws IllegalStateException si size() == Integer.MAX_VALUE
+	 *
+	 * @requires ad != null;
+	 * @requires !contains(ad);
+	 * @ensures contains(ad);
+	 * @ensures size() == \old(size()) + 1;
+	 * @ensures size(ad.getCategory()) == \old(size(ad.getCategory())) + 1;
+	 */
+	public void add(ClassifiedAd ad) {
+		if (this.nbAds == Integer.MAX_VALUE) {
+			throw new IllegalStateException("Stockage plein: " + this.nbAds + " annonces");
+		}
+
+		byte[] desc = ad.getDescription().getBytes(StandardCharsets.UTF_8);
+		long descOffset = this.arenaSize;
+		this.append(desc);
+
+		int c = ad.getCategory().ordinal();
+		this.reserveRecord(c);
+		int pos = this.upperBound(c, ad.getEpochNanos(), ad.getSequence());
+
+		// shift the newer records one slot up, from the newest one down.
+		for (int j = this.counts[c]; j > pos; j--) {
+			ByteBuffer to = this.chunk(c, j);
+			ByteBuffer from = this.chunk(c, j - 1);
+			for (int field = 0; field < RECORD_SIZE; field += 8) {
+				to.putLong(at(j) + field, from.getLong(at(j - 1) + field));
+			}
+		}
+
+		ByteBuffer buf = this.chunk(c, pos);
+		int at = at(pos);
+		buf.putLong(at + DATE, ad.getEpochNanos());
+		buf.putLong(at + SEQ, ad.getSequence());
+		buf.putLong(at + DESC_OFFSET, descOffset);
+		buf.putInt(at + PRICE, ad.getPrice());
+		buf.putInt(at + DESC_LENGTH, desc.length);
+
+		this.counts[c] += 1;
+		this.nbAds += 1;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de ce stockage.
+	 *
+	 * @return le nombre d'annonces de ce stockage
+	 *
+	 * @ensures \result >= 0;
+	 *
+	 * @pure
+	 */
+	public int size() {
+		return this.nbAds;
+	}
+
+	/**
+	 * Renvoie le nombre d'annonces de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return le nombre d'annonces de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result >= 0 && \result <= size();
+	 *
+	 * @pure
+	 */
+	public int size(Category cat) {
+		return this.counts[cat.ordinal()];
+	}
+
+	/**
+	 * Renvoie le nombre d'octets hors du tas réservés par ce stockage
+	 * (enregistrements et réserve de chaînes).
+	 *
+	 * @return le nombre d'octets hors du tas réservés par ce stockage
+	 *
+	 * @ensures \result > 0;
+	 *
+	 * @pure
+	 */
+	public long offHeapBytes() {
+		long bytes = capacity(this.arena);
+
+		for (ByteBuffer[] chunks : this.records) {
+			bytes += capacity(chunks);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce de ce stockage. Comme get(int) de
+	 * CategorizedAdList, cette sélection parmi les catégories s'effectue en un
+	 * temps logarithmique en size().
+	 *
+	 * @param i index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce
+	 *
+	 * @requires i >= 0 && i < size();
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(int i) {
+		int[] heads = new int[this.records.length];
+		int remaining = i;
+
+		while (remaining > 0) {
+			remaining -= this.skipNewest(heads, remaining);
+		}
+
+		int c = this.newerHead(heads);
+		return this.materialize(c, this.counts[c] - 1 - heads[c]);
+	}
+
+	/**
+	 * Renvoie la ième plus récente annonce de la catégorie spécifiée.
+	 *
+	 * @param cat la catégorie des annonces
+	 * @param i   index de l'annonce cherchée
+	 *
+	 * @return la ième plus récente annonce de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @requires i >= 0 && i < size(cat);
+	 * @ensures \result != null;
+	 * @ensures \result.getCategory().equals(cat);
+	 *
+	 * @pure
+	 */
+	public ClassifiedAd get(Category cat, int i) {
+		return this.materialize(cat.ordinal(), this.counts[cat.ordinal()] - 1 - i);
+	}
+
+	/**
+	 * Copie dans le tableau spécifié les plus récentes annonces de la catégorie
+	 * spécifiée, de la plus récente à la plus ancienne, et renvoie leur nombre.
+	 *
+	 * @param cat  la catégorie des annonces
+	 * @param dest le tableau à remplir
+	 *
+	 * @return le nombre d'annonces copiées dans dest
+	 *
+	 * @requires cat != null;
+	 * @requires dest != null;
+	 * @ensures \result == Math.min(dest.length, size(cat));
+	 * @ensures (\forall int i; i >= 0 && i < \result; dest[i].equals(get(cat, i)));
+	 *
+	 * @pure
+	 */
+	public int latest(Category cat, ClassifiedAd[] dest) {
+		int count = Math.min(dest.length, this.size(cat));
+
+		for (int i = 0; i < count; i++) {
+			dest[i] = this.get(cat, i);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Renvoie true si l'objet spécifié est une annonce de ce stockage.
+	 * L'enregistrement de cette annonce est cherché par dichotomie sur les dates
+	 * de sa catégorie, puis comparé octet par octet, sans construire d'annonce.
+	 *
+	 * @param o l'objet cherché
+	 *
+	 * @return true si l'objet spécifié est une annonce de ce stockage; false
+	 *         sinon
+	 *
+	 * @ensures !(o instanceof ClassifiedAd) ==> !\result;
+	 * @ensures \result <==> (\exists int i; i >= 0 && i < size(); get(i).equals(o));
+	 *
+	 * @pure
+	 */
+	public boolean contains(Object o) {
+		if (!(o instanceof ClassifiedAd)) {
+			return false;
+		}
+
+		ClassifiedAd ad = (ClassifiedAd) o;
+		int c = ad.getCategory().ordinal();
+		byte[] desc = null;
+
+		for (int j = this.lowerBound(c, ad.getEpochNanos()); j < this.counts[c]
+				&& this.chunk(c, j).getLong(at(j) + DATE) == ad.getEpochNanos(); j++) {
+			if (this.chunk(c, j).getInt(at(j) + PRICE) != ad.getPrice()) {
+				continue;
+			}
+
+			if (desc == null) {
+				desc = ad.getDescription().getBytes(StandardCharsets.UTF_8);
+			}
+
+			if (this.descriptionEquals(c, j, desc)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Renvoie un Stream sur toutes les annonces de ce stockage, de la plus récente
+	 * à la plus ancienne. Les annonces sont construites au fil du parcours, qui
+	 * fusionne les catégories comme l'itération de CategorizedAdList.
+	 *
+	 * @return un Stream sur les annonces de ce stockage
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size();
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream() {
+		Iterator<ClassifiedAd> merged = new Iterator<ClassifiedAd>() {
+			private int[] heads = new int[OffHeapAdStore.this.records.length];
+
+			@Override
+			public boolean hasNext() {
+				return OffHeapAdStore.this.newerHead(this.heads) != -1;
+			}
+
+			@Override
+			public ClassifiedAd next() {
+				int c = OffHeapAdStore.this.newerHead(this.heads);
+
+				if (c == -1) {
+					throw new NoSuchElementException();
+				}
+
+				this.heads[c] += 1;
+				return OffHeapAdStore.this.materialize(c, OffHeapAdStore.this.counts[c] - this.heads[c]);
+			}
+		};
+
+		return StreamSupport.stream(Spliterators.spliterator(merged, this.size(),
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Renvoie un Stream sur les annonces de la catégorie spécifiée, de la plus
+	 * récente à la plus ancienne.
+	 *
+	 * @param cat la catégorie des annonces
+	 *
+	 * @return un Stream sur les annonces de la catégorie spécifiée
+	 *
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size(cat);
+	 *
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream(Category cat) {
+		return IntStream.range(0, this.size(cat)).mapToObj(i -> this.get(cat, i));
+	}
+
+	/**
+	 * Construit l'annonce de l'enregistrement j (du plus ancien au plus récent)
+	 * de la catégorie d'index c.
+	 */
+	private ClassifiedAd materialize(int c, int j) {
+		ByteBuffer buf = this.chunk(c, j);
+		int at = at(j);
+		byte[] desc = new byte[buf.getInt(at + DESC_LENGTH)];
+		long offset = buf.getLong(at + DESC_OFFSET);
+
+		// the description may run over two arena chunks.
+		for (int done = 0; done < desc.length;) {
+			int n = Math.min(desc.length - done, ARENA_CHUNK - arenaAt(offset + done));
+			this.arena[arenaChunk(offset + done)].get(arenaAt(offset + done), desc, done, n);
+			done += n;
+		}
+
+		return new ClassifiedAd(Category.values()[c], new String(desc, StandardCharsets.UTF_8),
+				buf.getInt(at + PRICE), buf.getLong(at + DATE), buf.getLong(at + SEQ));
+	}
+
+	/**
+	 * Renvoie true si la description de l'enregistrement j de la catégorie
+	 * d'index c a pour encodage UTF-8 les octets spécifiés.
+	 */
+	private boolean descriptionEquals(int c, int j, byte[] desc) {
+		ByteBuffer buf = this.chunk(c, j);
+
+		if (buf.getInt(at(j) + DESC_LENGTH) != desc.length) {
+			return false;
+		}
+
+		long offset = buf.getLong(at(j) + DESC_OFFSET);
+		for (int k = 0; k < desc.length; k++) {
+			if (this.arena[arenaChunk(offset + k)].get(arenaAt(offset + k)) != desc[k]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Renvoie true si l'enregistrement ja de la catégorie d'index ca suit
+	 * l'enregistrement jb de la catégorie d'index cb dans l'ordre de compareTo.
+	 */
+	private boolean isNewer(int ca, int ja, int cb, int jb) {
+		long dateA = this.chunk(ca, ja).getLong(at(ja) + DATE);
+		long dateB = this.chunk(cb, jb).getLong(at(jb) + DATE);
+
+		if (dateA != dateB) {
+			return dateA > dateB;
+		}
+
+		return this.chunk(ca, ja).getLong(at(ja) + SEQ) > this.chunk(cb, jb).getLong(at(jb) + SEQ);
+	}
+
+	/**
+	 * Renvoie l'index de la catégorie dont le prochain enregistrement à parcourir
+	 * est le plus récent, heads[i] étant le nombre d'enregistrements déjà
+	 * parcourus (depuis le plus récent) dans la catégorie d'index i. Renvoie -1
+	 * si tous les enregistrements ont été parcourus.
+	 */
+	private int newerHead(int[] heads) {
+		int newer = -1;
+
+		for (int i = 0; i < this.records.length; i++) {
+			if (heads[i] < this.counts[i] && (newer == -1
+					|| this.isNewer(i, this.counts[i] - 1 - heads[i], newer, this.counts[newer] - 1 - heads[newer]))) {
+				newer = i;
+			}
+		}
+
+		return newer;
+	}
+
+	/**
+	 * Fait avancer le curseur de fusion heads d'au moins un et d'au plus
+	 * remaining enregistrements, tous parmi les remaining prochains de l'ordre
+	 * fusionné, et renvoie le nombre d'enregistrements ainsi passés (voir
+	 * CategorizedAdList.get(int)).
+	 *
+	 * @requires remaining > 0;
+	 */
+	private int skipNewest(int[] heads, int remaining) {
+		int active = 0;
+
+		for (int i = 0; i < this.records.length; i++) {
+			if (heads[i] < this.counts[i]) {
+				active++;
+			}
+		}
+
+		int step = Math.max(1, remaining / active);
+		int newer = -1;
+		int newerStep = 0;
+
+		for (int i = 0; i < this.records.length; i++) {
+			int t = Math.min(step, this.counts[i] - heads[i]);
+
+			if (t > 0 && (newer == -1 || this.isNewer(i, this.counts[i] - heads[i] - t, newer,
+					this.counts[newer] - heads[newer] - newerStep))) {
+				newer = i;
+				newerStep = t;
+			}
+		}
+
+		heads[newer] += newerStep;
+		return newerStep;
+	}
+
+	/**
+	 * Renvoie l'index du premier enregistrement de la catégorie d'index c dont
+	 * la date n'est pas antérieure à la date spécifiée (counts[c] s'il n'y en a
+	 * pas).
+	 */
+	private int lowerBound(int c, long date) {
+		int lo = 0;
+		int hi = this.counts[c];
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+
+			if (this.chunk(c, mid).getLong(at(mid) + DATE) < date) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Renvoie l'index du premier enregistrement de la catégorie d'index c qui
+	 * suit, dans l'ordre de compareTo, une annonce de la date et du numéro de
+	 * séquence spécifiés (counts[c] s'il n'y en a pas).
+	 */
+	private int upperBound(int c, long date, long seq) {
+		int lo = 0;
+		int hi = this.counts[c];
+
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			ByteBuffer buf = this.chunk(c, mid);
+			long midDate = buf.getLong(at(mid) + DATE);
+
+			if (midDate > date || (midDate == date && buf.getLong(at(mid) + SEQ) > seq)) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Écrit les octets spécifiés à la fin de la réserve de chaînes, en
+	 * ajoutant les blocs nécessaires.
+	 */
+	private void append(byte[] desc) {
+		for (int done = 0; done < desc.length;) {
+			int k = arenaChunk(this.arenaSize);
+			int at = arenaAt(this.arenaSize);
+			int n = Math.min(desc.length - done, ARENA_CHUNK - at);
+
+			if (k == this.arena.length) {
+				this.arena = Arrays.copyOf(this.arena, k + 1);
+				this.arena[k] = ByteBuffer.allocateDirect(Math.max(n, 1024));
+			} else {
+				this.arena[k] = grow(this.arena[k], at, at + n, ARENA_CHUNK);
+			}
+
+			this.arena[k].put(at, desc, done, n);
+			this.arenaSize += n;
+			done += n;
+		}
+	}
+
+	/**
+	 * Fait en sorte que la catégorie d'index c ait la place d'un enregistrement
+	 * de plus, en agrandissant son dernier bloc ou en lui en ajoutant un.
+	 */
+	private void reserveRecord(int c) {
+		int j = this.counts[c];
+		int k = j >>> CHUNK_SHIFT;
+
+		if (k == this.records[c].length) {
+			this.records[c] = Arrays.copyOf(this.records[c], k + 1);
+			this.records[c][k] = ByteBuffer.allocateDirect(16 * RECORD_SIZE);
+		} else {
+			this.records[c][k] = grow(this.records[c][k], at(j), at(j) + RECORD_SIZE, CHUNK_RECORDS * RECORD_SIZE);
+		}
+	}
+
+	/**
+	 * Renvoie le bloc contenant l'enregistrement j de la catégorie d'index c.
+	 */
+	private ByteBuffer chunk(int c, int j) {
+		return this.records[c][j >>> CHUNK_SHIFT];
+	}
+
+	/**
+	 * Renvoie la position de l'enregistrement j dans son bloc.
+	 */
+	private static int at(int j) {
+		return (j & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+	}
+
+	/**
+	 * Renvoie l'index du bloc de la réserve de chaînes contenant la position
+	 * spécifiée.
+	 */
+	private static int arenaChunk(long offset) {
+		return (int) (offset >>> ARENA_SHIFT);
+	}
+
+	/**
+	 * Renvoie la position spécifiée de la réserve de chaînes dans son bloc.
+	 */
+	private static int arenaAt(long offset) {
+		return (int) (offset & (ARENA_CHUNK - 1));
+	}
+
+	/**
+	 * Renvoie la somme des capacités des blocs spécifiés.
+	 */
+	private static long capacity(ByteBuffer[] chunks) {
+		long bytes = 0;
+
+		for (ByteBuffer buf : chunks) {
+			bytes += buf.capacity();
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Renvoie un ByteBuffer direct d'au moins needed octets contenant les used
+	 * premiers octets du ByteBuffer spécifié: ce ByteBuffer lui-même s'il est
+	 * assez grand, sinon un ByteBuffer de capacité au moins double, sans
+	 * dépasser limit octets.
+	 *
+	 * @requires needed <= limit;
+	 */
+	private static ByteBuffer grow(ByteBuffer buf, int used, int needed, int limit) {
+		if (needed <= buf.capacity()) {
+			return buf;
+		}
+
+		ByteBuffer bigger = ByteBuffer.allocateDirect(Math.min(limit, Math.max(needed, 2 * buf.capacity())));
+		bigger.put(0, buf, 0, used);
+		return bigger;
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * @author Riyad Derguini 12312754
+ * Je déclare qu'il s'agit de mon propre travail.
+ */
+package minebayd1;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Un jeton de continuation pour la pagination des annonces d'une
+ * CategorizedAdList (ou d'un User), de la plus récente à la plus ancienne.
+ *
+ * Un PageToken désigne une position dans l'ordre des annonces, et non un index:
+ * il retient la date et le numéro de séquence de la dernière annonce d'une
+ * page, qui l'identifient dans l'ordre total de ClassifiedAd.compareTo. La page
+ * suivante reprend juste après cette annonce, par recherche dichotomique dans
+ * chaque catégorie, de sorte que son coût
+ * ne dépend pas de son numéro et que l'ajout de nouvelles annonces (plus
+ * récentes) entre deux pages ne provoque ni doublon ni oubli.
+ *
+ * Un PageToken peut être transmis sous forme de chaîne de caractères
+ * (toString) puis reconstruit par parse.
+ *
+ * Cette classe est non modifiable.
+ *
+ * @invariant getDate() != null;
+ * @invariant getSequence() >= 0;
+ * @invariant parse(toString()).equals(this);
+ *
+ * @author Riyad Derguini
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class PageToken {
+
+	private final Instant date; // date de la dernière annonce vue.
+	private final long seq; // numéro de séquence de la dernière annonce vue.
+
+	/**
+	 * Initialise un nouveau jeton désignant la position suivant l'annonce de la
+	 * date et du numéro de séquence spécifiés.
+	 *
+	 * @requires date != null;
+	 * @requires seq >= 0;
+	 */
+	PageToken(Instant date, long seq) {
+		this.date = date;
+		this.seq = seq;
+	}
+
+	/**
+	 * Renvoie la date de la dernière annonce vue.
+	 *
+	 * @return la date de la dernière annonce vue
+	 *
+	 * @pure
+	 */
+	public Instant getDate() {
+		return this.date;
+	}
+
+	/**
+	 * Renvoie le numéro de séquence de la dernière annonce vue.
+	 *
+	 * @return le numéro de séquence de la dernière annonce vue
+	 *
+	 * @pure
+	 */
+	public long getSequence() {
+		return this.seq;
+	}
+
+	/**
+	 * Renvoie le jeton représenté par la chaîne spécifiée, telle que renvoyée par
+	 * toString.
+	 *
+	 * @param token la représentation d'un jeton
+	 *
+	 * @return le jeton représenté par la chaîne spécifiée
+	 *
+	 * @throws IllegalArgumentException si la chaîne spécifiée ne représente pas
+	 *                                  un jeton
+	 *
+	 * @requires token != null;
+	 * @ensures \result.toString().equals(token);
+	 */
+	public static PageToken parse(String token) {
+		String[] fields = token.split(":");
+
+		if (fields.length != 3) {
+			throw new IllegalArgumentException("Jeton de pagination invalide: " + token);
+		}
+
+		try {
+			Instant date = Instant.ofEpochSecond(Long.parseLong(fields[0]), Integer.parseInt(fields[1]));
+			long seq = Long.parseLong(fields[2]);
+
+			if (seq < 0 || date.getNano() != Integer.parseInt(fields[1])) {
+				throw new IllegalArgumentException("Jeton de pagination invalide: " + token);
+			}
+
+			return new PageToken(date, seq);
+		} catch (NumberFormatException | DateTimeException e) {
+			throw new IllegalArgumentException("Jeton de pagination invalide: " + token, e);
+		}
+	}
+
+	/**
+	 * Renvoie true si l'objet spécifié est un PageToken désignant la même
+	 * position que ce jeton.
+	 *
+	 * @pure
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof PageToken)) {
+			return false;
+		}
+
+		PageToken other = (PageToken) obj;
+		return this.date.equals(other.date) && this.seq == other.seq;
+	}
+
+	/**
+	 * Renvoie un code de hashage pour ce jeton.
+	 *
+	 * @pure
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.date, this.seq);
+	}
+
+	/**
+	 * Renvoie la représentation de ce jeton, qui peut être reconstruit par
+	 * parse.
+	 *
+	 * @ensures \result != null;
+	 * @ensures parse(\result).equals(this);
+	 *
+	 * @pure
+	 */
+	@Override
+	public String toString() {
+		return this.date.getEpochSecond() + ":" + this.date.getNano() + ":" + this.seq;
+	}
+}
@@ -5,7 +5,9 @@
 package minebayd1;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static minebayd1.AdState.*;
 
 /**
@@ -33,6 +35,17 @@ import static minebayd1.AdState.*;
  * </p>
  * 
  * <p>
+ * Les mots des descriptions de toutes les annonces d'un User sont en outre
+ * indexés par un index inversé (AdTextIndex), maintenu par add et buy, sur
+ * lequel reposent les recherches searchAll et searchAny.
+ * </p>
+ * 
+ * <p>
+ * Un User peut être inscrit sur une place de marché (Marketplace), dont le
+ * catalogue global est tenu à jour par add et buy.
+ * </p>
+ * 
+ * <p>
  * Les méthodes ne possédant pas de paramètre de type AdState ou Category
  * agissent uniquement sur les listes d'annonces dont l'état et, le cas échéant,
  * la catégorie a été sélectionnée.
@@ -80,6 +93,11 @@ import static minebayd1.AdState.*;
  * 
  */
 public class User {
+	/**
+	 * Montant disponible sur le compte d'un utilisateur lors de son inscription.
+	 */
+	public static final int DEFAULT_CASH_AMMOUNT = 1000000;
+
 	private String userName;
 	private String password;
 	private AdState SelectedAdState;
@@ -87,6 +105,8 @@ public class User {
 	private Instant RegistrationDate;
 	private int AvailableCash;
 	private CategorizedAdList[] Catalogue;
+	private Optional<Marketplace> Market; // place de marché sur laquelle ce User est inscrit, le cas échéant.
+	private AdTextIndex TextIndex; // index des mots des descriptions des annonces de ce User, tous états confondus.
 
 	/**
 	 * Initialise une nouvelle instance ayant les nom et mot de passe spécifiés. La
@@ -117,10 +137,9 @@ public class User {
 		this.userName = userName;
 		this.password = password;
 		this.RegistrationDate = Instant.now();
-		this.AvailableCash = 1000000;
+		this.AvailableCash = DEFAULT_CASH_AMMOUNT;
 		this.SelectedAdState = AdState.OPEN;
 		this.SelectedCategory = Optional.empty();
-		this.startIteration();
 
 		this.Catalogue = new CategorizedAdList[3];
 
@@ -131,7 +150,12 @@ public class User {
 		this.Catalogue[1] = new CategorizedAdList();
 
 		// PURCHASE STATE:
-		this.Catalogue[1] = new CategorizedAdList();
+		this.Catalogue[2] = new CategorizedAdList();
+
+		this.TextIndex = new AdTextIndex();
+		this.Market = Optional.empty();
+
+		this.startIteration();
 	}
 
 	/**
@@ -163,6 +187,7 @@ public class User {
 	 */
 	public void selectAdState(AdState state) {
 		this.SelectedAdState = state;
+		this.startIteration();
 	}
 
 	/**
@@ -307,9 +332,12 @@ public class User {
 	public void buy(User vendor, ClassifiedAd ad) {
 		vendor.Catalogue[1].add(ad);
 		vendor.Catalogue[0].remove(ad);
+		vendor.TextIndex.setState(ad, AdState.CLOSED);
+		vendor.Market.ifPresent(market -> market.closed(ad));
 		vendor.AvailableCash += ad.getPrice();
 
 		this.Catalogue[2].add(ad);
+		this.TextIndex.add(ad, AdState.PURCHASE);
 		this.AvailableCash -= ad.getPrice();
 
 		vendor.startIteration();
@@ -353,6 +381,8 @@ public class User {
 		ClassifiedAd ad = new ClassifiedAd(cat, msg, price);
 
 		this.Catalogue[0].add(ad);
+		this.TextIndex.add(ad, AdState.OPEN);
+		this.Market.ifPresent(market -> market.opened(ad));
 
 		if (this.getSelectedAdState().equals(AdState.OPEN)) {
 			this.startIteration();
@@ -361,6 +391,29 @@ public class User {
 		return ad;
 	}
 
+	/**
+	 * Renvoie un Optional pour la place de marché sur laquelle ce User est
+	 * inscrit. Les annonces ouvertes d'un User inscrit font partie du catalogue
+	 * global de cette place de marché.
+	 * 
+	 * @return un Optional pour la place de marché de ce User
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.isPresent() ==> \result.get().getUsers().contains(this);
+	 * 
+	 * @pure
+	 */
+	public Optional<Marketplace> getMarketplace() {
+		return this.Market;
+	}
+
+	/**
+	 * Enregistre la place de marché sur laquelle ce User vient d'être inscrit.
+	 */
+	void setMarketplace(Marketplace market) {
+		this.Market = Optional.of(market);
+	}
+
 	/**
 	 * Renvoie le nombre d'annonces de cet utilisateur dans l'état sélectionné
 	 * (open, closed ou purchase). Si une catégorie est sélectionnée seules les
@@ -397,20 +450,13 @@ public class User {
 	 * @pure
 	 */
 	public int size(AdState state, Optional<Category> cat) {
-		if (state.equals(AdState.OPEN)) {
-
-			return this.Catalogue[0].size(cat.get());
-
-		} else {
-
-			if (state.equals(AdState.CLOSED)) {
+		CategorizedAdList list = this.catalogue(state);
 
-				return this.Catalogue[1].size(cat.get());
-			} else {
-				return this.Catalogue[2].size(cat.get());
-			}
+		if (cat.isPresent()) {
+			return list.size(cat.get());
 		}
 
+		return list.size();
 	}
 
 	/**
@@ -458,20 +504,186 @@ public class User {
 	 * @pure
 	 */
 	public ClassifiedAd get(AdState state, Optional<Category> cat, int i) {
-		if (state.equals(AdState.OPEN)) {
+		CategorizedAdList list = this.catalogue(state);
 
-			return this.Catalogue[0].get(cat.get(), i);
+		if (cat.isPresent()) {
+			return list.get(cat.get(), i);
+		}
 
-		} else {
-			if (state.equals(AdState.CLOSED)) {
+		return list.get(i);
+	}
 
-				return this.Catalogue[1].get(cat.get(), i);
+	/**
+	 * Renvoie un Stream séquentiel sur les annonces de ce User dans l'état et la
+	 * catégorie sélectionnés, de la plus récente à la plus ancienne.
+	 * 
+	 * @return un Stream sur les annonces de ce User dans l'état et la catégorie
+	 *         sélectionnés
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size();
+	 * 
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream() {
+		return this.stream(this.getSelectedAdState(), this.getSelectedCategory());
+	}
 
-			} else {
-				return this.Catalogue[2].get(cat.get(), i);
-			}
+	/**
+	 * Renvoie un Stream parallèle sur les annonces de ce User dans l'état et la
+	 * catégorie sélectionnés. Comme celui de CategorizedAdList, ce Stream se
+	 * partage entre plusieurs threads en coupant les listes triées des
+	 * catégories; son ordre de rencontre reste celui de stream().
+	 * 
+	 * @return un Stream parallèle sur les annonces de ce User dans l'état et la
+	 *         catégorie sélectionnés
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.isParallel();
+	 * @ensures \result.count() == size();
+	 * 
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> parallelStream() {
+		CategorizedAdList list = this.catalogue(this.getSelectedAdState());
+		Optional<Category> cat = this.getSelectedCategory();
+
+		if (cat.isPresent()) {
+			return list.stream(cat.get()).parallel();
 		}
 
+		return list.parallelStream();
+	}
+
+	/**
+	 * Renvoie un Stream séquentiel sur les annonces de ce User étant dans l'état
+	 * spécifié et appartenant à la catégorie spécifiée, de la plus récente à la
+	 * plus ancienne. Un appel à parallel() sur ce Stream permet de répartir son
+	 * exécution entre plusieurs threads.
+	 * 
+	 * @param state l'état des annonces
+	 * @param cat   catégorie des annonces
+	 * 
+	 * @return un Stream sur les annonces de ce User étant dans l'état spécifié et
+	 *         appartenant à la catégorie spécifiée
+	 * 
+	 * @requires state != null;
+	 * @requires cat != null;
+	 * @ensures \result != null;
+	 * @ensures \result.count() == size(state, cat);
+	 * 
+	 * @pure
+	 */
+	public Stream<ClassifiedAd> stream(AdState state, Optional<Category> cat) {
+		CategorizedAdList list = this.catalogue(state);
+
+		if (cat.isPresent()) {
+			return list.stream(cat.get());
+		}
+
+		return list.stream();
+	}
+
+	/**
+	 * Renvoie une page d'au plus size annonces de ce User étant dans l'état
+	 * spécifié et appartenant à la catégorie spécifiée, de la plus récente à la
+	 * plus ancienne: la première page si after est vide, sinon la page suivant la
+	 * position désignée par le jeton after (obtenu par getNextToken() sur la page
+	 * précédente). Cette pagination ne repose pas sur des index: la page N coûte
+	 * autant que la première, et les annonces ajoutées entre deux pages ne
+	 * provoquent ni doublon ni oubli.
+	 * 
+	 * @param state l'état des annonces
+	 * @param cat   catégorie des annonces
+	 * @param after le jeton de la page précédente, ou Optional.empty() pour la
+	 *              première page
+	 * @param size  le nombre maximal d'annonces de la page
+	 * 
+	 * @return une page d'annonces de ce User
+	 * 
+	 * @requires state != null;
+	 * @requires cat != null;
+	 * @requires after != null;
+	 * @requires size > 0;
+	 * @ensures \result != null;
+	 * @ensures \result.getAds().size() <= size;
+	 * @ensures (\forall ClassifiedAd ad; \result.getAds().contains(ad);
+	 *          containsInState(state, ad));
+	 * @ensures after.isEmpty() ==> (\forall int i; i >= 0 && i < \result.getAds().size();
+	 *          \result.getAds().get(i).equals(get(state, cat, i)));
+	 * 
+	 * @pure
+	 */
+	public AdPage page(AdState state, Optional<Category> cat, Optional<PageToken> after, int size) {
+		CategorizedAdList list = this.catalogue(state);
+
+		if (cat.isPresent()) {
+			return list.page(cat.get(), after, size);
+		}
+
+		return list.page(after, size);
+	}
+
+	/**
+	 * Renvoie les annonces de ce User étant dans l'état spécifié, appartenant à la
+	 * catégorie spécifiée et dont la description contient tous les mots de la
+	 * chaîne spécifiée, de la plus récente à la plus ancienne. Les mots sont les
+	 * suites de lettres et de chiffres, comparés sans tenir compte de la casse.
+	 * 
+	 * Cette recherche utilise un index inversé des mots des descriptions,
+	 * maintenu par add et buy: elle ne parcourt que les annonces contenant le
+	 * plus rare des mots cherchés.
+	 * 
+	 * @param state l'état des annonces
+	 * @param cat   catégorie des annonces
+	 * @param words les mots cherchés
+	 * 
+	 * @return les annonces dont la description contient tous les mots spécifiés
+	 * 
+	 * @requires state != null;
+	 * @requires cat != null;
+	 * @requires words != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; \result.contains(ad);
+	 *          containsInState(state, ad));
+	 * @ensures cat.isPresent() ==> (\forall ClassifiedAd ad; \result.contains(ad);
+	 *          ad.getCategory().equals(cat.get()));
+	 * @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+	 *          !\result.get(i).isAfter(\result.get(i - 1)));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> searchAll(AdState state, Optional<Category> cat, String words) {
+		return this.TextIndex.search(state, cat, words, true);
+	}
+
+	/**
+	 * Renvoie les annonces de ce User étant dans l'état spécifié, appartenant à la
+	 * catégorie spécifiée et dont la description contient au moins l'un des mots
+	 * de la chaîne spécifiée, de la plus récente à la plus ancienne. Comme
+	 * searchAll, cette recherche utilise l'index inversé des descriptions.
+	 * 
+	 * @param state l'état des annonces
+	 * @param cat   catégorie des annonces
+	 * @param words les mots cherchés
+	 * 
+	 * @return les annonces dont la description contient l'un des mots spécifiés
+	 * 
+	 * @requires state != null;
+	 * @requires cat != null;
+	 * @requires words != null;
+	 * @ensures \result != null;
+	 * @ensures (\forall ClassifiedAd ad; \result.contains(ad);
+	 *          containsInState(state, ad));
+	 * @ensures cat.isPresent() ==> (\forall ClassifiedAd ad; \result.contains(ad);
+	 *          ad.getCategory().equals(cat.get()));
+	 * @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+	 *          !\result.get(i).isAfter(\result.get(i - 1)));
+	 * 
+	 * @pure
+	 */
+	public List<ClassifiedAd> searchAny(AdState state, Optional<Category> cat, String words) {
+		return this.TextIndex.search(state, cat, words, false);
 	}
 
 	/**
@@ -525,21 +737,15 @@ public class User {
 	 * @ensures lastIndex() == -1;
 	 */
 	public void startIteration() {
-		if (this.getSelectedAdState().equals(AdState.OPEN)) {
-
-			this.Catalogue[0].startIteration();
+		CategorizedAdList list = this.catalogue(this.getSelectedAdState());
 
+		// the selected category is kept here and pushed down to the list being
+		// iterated, which resets its iteration as well.
+		if (this.getSelectedCategory().isPresent()) {
+			list.selectCategory(this.getSelectedCategory().get());
 		} else {
-			if (this.getSelectedAdState().equals(AdState.CLOSED)) {
-
-				this.Catalogue[1].startIteration();
-
-			} else {
-
-				this.Catalogue[2].startIteration();
-			}
+			list.clearSelectedCategory();
 		}
-
 	}
 
 	/**
@@ -831,4 +1037,17 @@ public class User {
 		// Crée la chaîne de caractères à retourner
 		return "User: " + userName + " | OPEN: " + openAds + " | CLOSED: " + closedAds + " | PURCHASE: " + purchasedAds;
 	}
+
+	/**
+	 * Renvoie la liste des annonces de ce User dans l'état spécifié.
+	 */
+	private CategorizedAdList catalogue(AdState state) {
+		if (state.equals(AdState.OPEN)) {
+			return this.Catalogue[0];
+		} else if (state.equals(AdState.CLOSED)) {
+			return this.Catalogue[1];
+		} else {
+			return this.Catalogue[2];
+		}
+	}
 }
@@ -186,6 +186,16 @@ public class DataProvider {
 		return randGen.nextInt(max);
 	}
 
+	/**
+	 * Renvoie un long obtenu par un générateur pseudo-aléatoire, pris parmi toutes
+	 * les valeurs possibles d'un long.
+	 *
+	 * @return un long aléatoire
+	 */
+	public static long randLong() {
+		return randGen.nextLong();
+	}
+
 	/**
 	 * Renvoie une valeur booléenne obtenue par un générateur pseudo-aléatoire. La
 	 * valeur renvoyée a une probabilité d'être true similaire à la probabilité que
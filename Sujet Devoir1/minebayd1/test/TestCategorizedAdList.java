@@ -5,25 +5,33 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import minebayd1.AdListIterator;
+import minebayd1.AdPage;
 import minebayd1.CategorizedAdList;
 import minebayd1.Category;
+import minebayd1.PageToken;
 import minebayd1.ClassifiedAd;
 
 /**
@@ -113,6 +121,21 @@ public class TestCategorizedAdList {
 		return Stream.generate(() -> CatAdListAndAdSupplier()).limit(LG_STREAM);
 	}
 
+	public static Stream<Arguments> CatAdListAndNewAdsProvider() {
+		return Stream.generate(() -> {
+			CategorizedAdList list = DataProvider.CategorizedAdListSupplier();
+			List<ClassifiedAd> ads = new ArrayList<ClassifiedAd>();
+			for (int i = DataProvider.randInt(4) + 2; i > 0; i--) {
+				ClassifiedAd ad = DataProvider.adSupplier();
+				list.remove(ad);
+				if (!ads.contains(ad)) {
+					ads.add(ad);
+				}
+			}
+			return Arguments.of(list, ads);
+		}).limit(LG_STREAM);
+	}
+
 	public static Collection<Object> fakeProvider() {
 		return List.of(new Object(), new Object(), new Object());
 	}
@@ -536,6 +559,44 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method next
+	 *
+	 * Des appels successifs à next() depuis le début de l'itération renvoient
+	 * toutes les annonces, de la plus récente à la plus ancienne, le curseur
+	 * avançant d'un index à chaque appel.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testnextThroughout(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Oldies:
+		Optional<Category> optCat = self.getSelectedCategory();
+		int size = optCat.isPresent() ? self.size(optCat.get()) : self.size();
+
+		// Exécution:
+		self.startIteration();
+		for (int i = 0; i < size; i++) {
+			// Post-conditions:
+			assertTrue(self.hasNext());
+			assertEquals(i, self.nextIndex());
+			ClassifiedAd expected = optCat.isPresent() ? self.get(optCat.get(), i) : self.get(i);
+			assertEquals(expected, self.next());
+			assertEquals(i, self.lastIndex());
+			assertEquals(i, self.previousIndex());
+			assertTrue(self.hasPrevious());
+		}
+		assertFalse(self.hasNext());
+		assertEquals(size, self.nextIndex());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method nextIndex
 	 *
@@ -698,6 +759,47 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method previous
+	 *
+	 * Des appels successifs à previous() depuis la fin de l'itération renvoient
+	 * les annonces dans l'ordre inverse de celui de next(), le curseur reculant
+	 * d'un index à chaque appel.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testpreviousThroughout(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Oldies:
+		Optional<Category> optCat = self.getSelectedCategory();
+		int size = optCat.isPresent() ? self.size(optCat.get()) : self.size();
+		List<ClassifiedAd> forward = new ArrayList<ClassifiedAd>();
+		self.startIteration();
+		while (self.hasNext()) {
+			forward.add(self.next());
+		}
+		assertEquals(size, forward.size());
+
+		// Exécution:
+		for (int i = size - 1; i >= 0; i--) {
+			// Post-conditions:
+			assertTrue(self.hasPrevious());
+			assertEquals(i, self.previousIndex());
+			assertEquals(forward.get(i), self.previous());
+			assertEquals(i, self.nextIndex());
+			assertEquals(i, self.lastIndex());
+		}
+		assertFalse(self.hasPrevious());
+		assertEquals(-1, self.previousIndex());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method previousIndex
 	 *
@@ -879,6 +981,97 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method get
+	 *
+	 * get(i) renvoie la ième annonce de la liste obtenue en réunissant les
+	 * annonces de toutes les catégories et en les triant de la plus récente à la
+	 * plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testgetMerged(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Oldies:
+		List<ClassifiedAd> expected = new ArrayList<ClassifiedAd>();
+		for (Category cat : Category.values()) {
+			for (int j = 0; j < self.size(cat); j++) {
+				expected.add(self.get(cat, j));
+			}
+		}
+		Collections.sort(expected, (a, b) -> b.getDate().compareTo(a.getDate()));
+
+		// Sauvegarde de l'état de self
+		saveState(self);
+
+		// Exécution:
+		List<ClassifiedAd> merged = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			merged.add(self.get(i));
+		}
+
+		// Post-conditions:
+		assertEquals(expected.size(), merged.size());
+		for (int i = 0; i < merged.size(); i++) {
+			assertEquals(expected.get(i).getDate(), merged.get(i).getDate());
+		}
+		assertTrue(merged.containsAll(expected));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method get
+	 *
+	 * Les annonces d'une catégorie, prises dans l'ordre de get(i), sont celles
+	 * renvoyées par get(cat, j) et dans le même ordre.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testgetByCategory(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Sauvegarde de l'état de self
+		saveState(self);
+
+		for (Category cat : Category.values()) {
+			// Exécution:
+			List<ClassifiedAd> filtered = new ArrayList<ClassifiedAd>();
+			for (int i = 0; i < self.size(); i++) {
+				if (self.get(i).getCategory().equals(cat)) {
+					filtered.add(self.get(i));
+				}
+			}
+			List<ClassifiedAd> bucket = new ArrayList<ClassifiedAd>();
+			for (int j = 0; j < self.size(cat); j++) {
+				bucket.add(self.get(cat, j));
+			}
+
+			// Post-conditions:
+			assertEquals(filtered, bucket);
+			for (ClassifiedAd ad : bucket) {
+				assertEquals(cat, ad.getCategory());
+			}
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method add
 	 *
@@ -943,6 +1136,66 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method add
+	 *
+	 * Plusieurs ajouts successifs, au milieu d'une itération, la réinitialisent:
+	 * les appels suivants à hasNext() et next() reprennent depuis la plus récente
+	 * annonce et parcourent toutes les annonces, y compris celles ajoutées.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdsProvider")
+	public void testaddThenIterate(CategorizedAdList self, List<ClassifiedAd> ads) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires !contains(elt);
+		for (ClassifiedAd ad : ads) {
+			assumeFalse(self.contains(ad));
+		}
+		// Une itération est en cours:
+		for (int i = DataProvider.randInt(5); i > 0 && self.hasNext(); i--) {
+			self.next();
+		}
+
+		// Oldies:
+		Optional<Category> optCat = self.getSelectedCategory();
+
+		// Exécution:
+		for (ClassifiedAd ad : ads) {
+			self.add(ad);
+		}
+
+		// Post-conditions:
+		// @ensures !hasPrevious();
+		assertFalse(self.hasPrevious());
+		// @ensures previousIndex() == -1;
+		assertEquals(-1, self.previousIndex());
+		// @ensures nextIndex() == 0;
+		assertEquals(0, self.nextIndex());
+		// @ensures lastIndex() == -1;
+		assertEquals(-1, self.lastIndex());
+		// L'itération reprend depuis la plus récente annonce:
+		int size = optCat.isPresent() ? self.size(optCat.get()) : self.size();
+		List<ClassifiedAd> seen = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < size; i++) {
+			assertTrue(self.hasNext());
+			ClassifiedAd expected = optCat.isPresent() ? self.get(optCat.get(), i) : self.get(i);
+			assertEquals(expected, self.next());
+			seen.add(expected);
+		}
+		assertFalse(self.hasNext());
+		for (ClassifiedAd ad : ads) {
+			assertEquals(optCat.isEmpty() || optCat.get().equals(ad.getCategory()), seen.contains(ad));
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method remove
 	 *
@@ -1044,6 +1297,62 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method remove
+	 *
+	 * Retirer une annonce absente ne change rien; retirer la plus ancienne puis
+	 * la plus récente annonce d'une catégorie donne une liste égale, en taille et
+	 * en code de hachage, à celle reconstruite avec les annonces restantes.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testremoveEnds(CategorizedAdList self, ClassifiedAd absent) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeFalse(self.contains(absent));
+		Optional<Category> optCat = Optional.empty();
+		for (Category cat : Category.values()) {
+			if (optCat.isEmpty() && self.size(cat) > 0) {
+				optCat = Optional.of(cat);
+			}
+		}
+		assumeTrue(optCat.isPresent());
+		Category cat = optCat.get();
+
+		// Oldies:
+		int oldSize = self.size();
+		ClassifiedAd oldest = self.get(cat, self.size(cat) - 1);
+		ClassifiedAd newest = self.get(cat, 0);
+
+		// Exécution:
+		assertFalse(self.remove(absent));
+		assertEquals(oldSize, self.size());
+		assertTrue(self.remove(oldest));
+		int removed = 1;
+		if (!newest.equals(oldest)) {
+			assertTrue(self.remove(newest));
+			removed++;
+		}
+
+		// Post-conditions:
+		assertFalse(self.contains(oldest));
+		assertFalse(self.contains(newest));
+		assertEquals(oldSize - removed, self.size());
+		CategorizedAdList rebuilt = new CategorizedAdList();
+		for (int i = self.size() - 1; i >= 0; i--) {
+			rebuilt.add(self.get(i));
+		}
+		assertEquals(rebuilt.size(), self.size());
+		assertEquals(rebuilt.hashCode(), self.hashCode());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method contains
 	 *
@@ -1245,6 +1554,59 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method equals
+	 *
+	 * Une liste reconstruite avec les mêmes annonces, la même catégorie
+	 * sélectionnée et le même état d'itération est égale à self; elle ne l'est
+	 * plus dès qu'une annonce en est retirée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testequalsRebuilt(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		CategorizedAdList rebuilt = new CategorizedAdList();
+		for (int i = self.size() - 1; i >= 0; i--) {
+			rebuilt.add(self.get(i));
+		}
+		if (self.getSelectedCategory().isPresent()) {
+			rebuilt.selectCategory(self.getSelectedCategory().get());
+		}
+		rebuilt.startIteration();
+		while (rebuilt.nextIndex() < self.nextIndex()) {
+			rebuilt.next();
+		}
+		assumeTrue(rebuilt.lastIndex() == self.lastIndex());
+
+		// Sauvegarde de l'état de self
+		saveState(self);
+
+		// Exécution et Post-conditions:
+		assertTrue(self.equals(rebuilt));
+		assertTrue(rebuilt.equals(self));
+		assertEquals(self.hashCode(), rebuilt.hashCode());
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Exécution:
+		if (rebuilt.size() > 0) {
+			rebuilt.remove(rebuilt.get(0));
+
+			// Post-conditions:
+			assertFalse(self.equals(rebuilt));
+			assertFalse(rebuilt.equals(self));
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method clone
 	 *
@@ -1285,6 +1647,70 @@ public class TestCategorizedAdList {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method clone
+	 *
+	 * Un clone et la liste d'origine sont indépendants: les modifications de
+	 * l'un n'affectent pas l'autre, bien qu'ils partagent leurs listes triées et
+	 * leur index jusqu'à la première modification.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testcloneThenModify(CategorizedAdList self, ClassifiedAd elt) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(elt != null);
+		assumeFalse(self.contains(elt));
+
+		// Oldies:
+		int oldSize = self.size();
+		int oldHashCode = self.hashCode();
+
+		// Exécution:
+		CategorizedAdList result = self.clone();
+		result.add(elt);
+
+		// Post-conditions:
+		// Un ajout au clone n'affecte pas la liste d'origine:
+		assertTrue(result.contains(elt));
+		assertFalse(self.contains(elt));
+		assertEquals(oldSize + 1, result.size());
+		assertEquals(oldSize, self.size());
+		assertEquals(oldHashCode, self.hashCode());
+		assertFalse(self.remove(elt));
+		// Un retrait du clone n'affecte pas la liste d'origine:
+		if (oldSize > 0) {
+			ClassifiedAd ad = self.get(0);
+			assertTrue(result.remove(ad));
+			assertFalse(result.contains(ad));
+			assertTrue(self.contains(ad));
+			assertEquals(oldSize, result.size());
+			assertEquals(oldSize, self.size());
+			assertEquals(oldHashCode, self.hashCode());
+			// Puis un retrait de la liste d'origine n'affecte pas le clone:
+			assertTrue(self.remove(ad));
+			assertFalse(self.contains(ad));
+			assertEquals(oldSize - 1, self.size());
+			assertEquals(oldSize, result.size());
+			assertTrue(result.contains(elt));
+		}
+		// Un ajout à la liste d'origine n'affecte pas le clone:
+		int resultHashCode = result.hashCode();
+		self.add(elt);
+		assertTrue(self.contains(elt));
+		assertEquals(resultHashCode, result.hashCode());
+		assertTrue(result.remove(elt));
+		assertTrue(self.contains(elt));
+
+		// Invariant:
+		assertInvariant(self);
+		assertInvariant(result);
+	}
+
 	/**
 	 * Test method for method hashCode
 	 *
@@ -1318,32 +1744,84 @@ public class TestCategorizedAdList {
 	}
 
 	/**
-	 * Test method for method toString
+	 * Test method for method hashCode
 	 *
-	 * Renvoie une représentation de cette liste sous forme d'une chaîne de
-	 * caractères.
+	 * Après un ajout, un clonage puis un retrait, size() et hashCode() restent
+	 * ceux d'une liste reconstruite avec les mêmes annonces.
 	 */
 	@ParameterizedTest
-	@MethodSource("CategorizedAdListProvider")
-	public void testtoString(CategorizedAdList self) {
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testhashCodeAfterChanges(CategorizedAdList self, ClassifiedAd elt) {
 		assumeTrue(self != null);
 
 		// Invariant:
 		assertInvariant(self);
 
 		// Pré-conditions:
-
-		// Save state for purity check:
-		saveState(self);
+		assumeFalse(self.contains(elt));
 
 		// Oldies:
+		int oldSize = self.size();
+		int oldHash = self.hashCode();
 
 		// Exécution:
-		String result = self.toString();
+		self.add(elt);
 
 		// Post-conditions:
-		// @ensures \result != null;
-		assertNotNull(result);
+		assertEquals(oldSize + 1, self.size());
+		CategorizedAdList rebuilt = new CategorizedAdList();
+		for (int i = self.size() - 1; i >= 0; i--) {
+			rebuilt.add(self.get(i));
+		}
+		assertEquals(rebuilt.hashCode(), self.hashCode());
+
+		// Exécution:
+		CategorizedAdList copy = self.clone();
+
+		// Post-conditions:
+		assertEquals(self.size(), copy.size());
+		assertEquals(self.hashCode(), copy.hashCode());
+
+		// Exécution:
+		self.remove(elt);
+
+		// Post-conditions:
+		assertEquals(oldSize, self.size());
+		assertEquals(oldHash, self.hashCode());
+		assertEquals(oldSize + 1, copy.size());
+		assertEquals(rebuilt.hashCode(), copy.hashCode());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method toString
+	 *
+	 * Renvoie une représentation de cette liste sous forme d'une chaîne de
+	 * caractères.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testtoString(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+
+		// Exécution:
+		String result = self.toString();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
 		// @ensures \result.contains("" + lastIndex());
 		assertTrue(result.contains("" + self.lastIndex()));
 		// @ensures \result.contains("" + nextIndex());
@@ -1364,4 +1842,624 @@ public class TestCategorizedAdList {
 		// Invariant:
 		assertInvariant(self);
 	}
+
+	/**
+	 * Test method for method listIterator
+	 *
+	 * Renvoie un nouveau curseur sur toutes les annonces de cette liste, de la plus
+	 * récente à la plus ancienne, indépendant de l'itération en cours et de la
+	 * catégorie sélectionnée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testlistIterator(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+
+		// Exécution:
+		AdListIterator result = self.listIterator();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.getCategory().isEmpty();
+		assertTrue(result.getCategory().isEmpty());
+		// @ensures !\result.hasPrevious();
+		assertFalse(result.hasPrevious());
+		// @ensures \result.nextIndex() == 0;
+		assertEquals(0, result.nextIndex());
+		// @ensures \result.lastIndex() == -1;
+		assertEquals(-1, result.lastIndex());
+		// Le curseur parcourt toutes les annonces dans l'ordre de get(int), dans les
+		// deux sens:
+		int i = 0;
+		while (result.hasNext()) {
+			assertEquals(self.get(i), result.next());
+			assertEquals(i, result.lastIndex());
+			i++;
+		}
+		assertEquals(self.size(), i);
+		while (result.hasPrevious()) {
+			i--;
+			assertEquals(self.get(i), result.previous());
+			assertEquals(i, result.lastIndex());
+		}
+		assertEquals(0, i);
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method listIterator
+	 *
+	 * Renvoie un nouveau curseur sur les annonces de la catégorie spécifiée, de la
+	 * plus récente à la plus ancienne, indépendant de l'itération en cours et de la
+	 * catégorie sélectionnée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndCatProvider")
+	public void testlistIterator(CategorizedAdList self, Category cat) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires cat != null;
+		assumeTrue(cat != null);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+
+		// Exécution:
+		AdListIterator result = self.listIterator(cat);
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.getCategory().equals(Optional.of(cat));
+		assertEquals(Optional.of(cat), result.getCategory());
+		// @ensures !\result.hasPrevious();
+		assertFalse(result.hasPrevious());
+		// @ensures \result.nextIndex() == 0;
+		assertEquals(0, result.nextIndex());
+		// @ensures \result.lastIndex() == -1;
+		assertEquals(-1, result.lastIndex());
+		// Le curseur parcourt les annonces de la catégorie dans l'ordre de get(cat,
+		// int):
+		int i = 0;
+		while (result.hasNext()) {
+			assertEquals(self.get(cat, i), result.next());
+			i++;
+		}
+		assertEquals(self.size(cat), i);
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method snapshotIterator
+	 *
+	 * Renvoie un nouveau curseur sur toutes les annonces de cette liste telles
+	 * qu'elles sont au moment de cet appel. Ce curseur n'est affecté par aucune
+	 * modification ultérieure de cette liste, alors qu'un curseur obtenu par
+	 * listIterator() échoue rapidement.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testsnapshotIterator(CategorizedAdList self, ClassifiedAd elt) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(elt != null);
+		assumeFalse(self.contains(elt));
+
+		// Oldies:
+		List<ClassifiedAd> oldAds = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			oldAds.add(self.get(i));
+		}
+		AdListIterator liveIter = self.listIterator();
+
+		// Exécution:
+		AdListIterator result = self.snapshotIterator();
+		self.add(elt);
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.getCategory().isEmpty();
+		assertTrue(result.getCategory().isEmpty());
+		// Le curseur parcourt les annonces présentes lors de sa création:
+		int i = 0;
+		while (result.hasNext()) {
+			assertEquals(oldAds.get(i), result.next());
+			i++;
+		}
+		assertEquals(oldAds.size(), i);
+		// Un curseur sur la liste elle-même échoue rapidement:
+		assertThrows(ConcurrentModificationException.class, () -> liveIter.next());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method addAll
+	 *
+	 * Ajoute à cette liste toutes les annonces de la collection spécifiée qui n'y
+	 * sont pas déjà présentes. Renvoie true si cette liste a été modifiée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testaddAll(CategorizedAdList self, ClassifiedAd elt) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(elt != null);
+		assumeFalse(self.contains(elt));
+		// une annonce nouvelle, une annonce déjà présente et un doublon:
+		List<ClassifiedAd> ads = new ArrayList<ClassifiedAd>();
+		ads.add(elt);
+		if (self.size() > 0) {
+			ads.add(self.get(self.size() / 2));
+		}
+		ads.add(elt);
+
+		// Oldies:
+		int oldSize = self.size();
+		Category[] allCat = Category.values();
+		int[] tabOldCatSize = new int[allCat.length];
+		for (int i = 0; i < allCat.length; i++) {
+			tabOldCatSize[i] = self.size(allCat[i]);
+		}
+
+		// Exécution:
+		boolean result = self.addAll(ads);
+
+		// Post-conditions:
+		// @ensures (\forall ClassifiedAd ad; ads.contains(ad); contains(ad));
+		for (ClassifiedAd ad : ads) {
+			assertTrue(self.contains(ad));
+		}
+		// @ensures \result <==> size() > \old(size());
+		assertTrue(result);
+		assertEquals(oldSize + 1, self.size());
+		for (int i = 0; i < allCat.length; i++) {
+			int added = i == elt.getCategory().ordinal() ? 1 : 0;
+			assertEquals(tabOldCatSize[i] + added, self.size(allCat[i]));
+		}
+		// @ensures \result ==> nextIndex() == 0;
+		assertEquals(0, self.nextIndex());
+		// @ensures \result ==> lastIndex() == -1;
+		assertEquals(-1, self.lastIndex());
+		// Un second ajout des mêmes annonces ne modifie pas la liste:
+		assertFalse(self.addAll(ads));
+		assertEquals(oldSize + 1, self.size());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods stream and parallelStream
+	 *
+	 * Renvoient un Stream sur toutes les annonces de cette liste, de la plus
+	 * récente à la plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void teststream(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Oldies:
+		saveState(self);
+		List<ClassifiedAd> oldAds = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			oldAds.add(self.get(i));
+		}
+
+		// Exécution:
+		List<ClassifiedAd> result = self.stream().collect(Collectors.toList());
+		List<ClassifiedAd> parallelResult = self.parallelStream().collect(Collectors.toList());
+
+		// Post-conditions:
+		// @ensures \result.count() == size();
+		// Les annonces sont parcourues de la plus récente à la plus ancienne:
+		assertEquals(oldAds, result);
+		// @ensures \result.isParallel();
+		assertTrue(self.parallelStream().isParallel());
+		// Le partage entre threads préserve l'ordre de parcours:
+		assertEquals(oldAds, parallelResult);
+		// @ensures \result.count() == size(cat);
+		for (Category cat : Category.values()) {
+			List<ClassifiedAd> catAds = self.stream(cat).parallel().collect(Collectors.toList());
+			assertEquals(self.size(cat), catAds.size());
+			for (int i = 0; i < catAds.size(); i++) {
+				assertEquals(self.get(cat, i), catAds.get(i));
+			}
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods between and since
+	 *
+	 * Renvoient une vue sur les annonces de cette liste publiées dans un
+	 * intervalle de dates, de la plus récente à la plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testbetween(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(self.size() > 0);
+		Instant to = self.get(self.size() / 4).getDate();
+		Instant from = self.get(3 * self.size() / 4).getDate();
+
+		// Oldies:
+		saveState(self);
+		List<ClassifiedAd> oldBetween = new ArrayList<ClassifiedAd>();
+		List<ClassifiedAd> oldSince = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			ClassifiedAd ad = self.get(i);
+			if (!ad.getDate().isBefore(from)) {
+				oldSince.add(ad);
+				if (ad.getDate().isBefore(to)) {
+					oldBetween.add(ad);
+				}
+			}
+		}
+
+		// Exécution:
+		List<ClassifiedAd> result = self.between(from, to);
+		List<ClassifiedAd> sinceResult = self.since(from);
+
+		// Post-conditions:
+		// @ensures (\forall ClassifiedAd ad; contains(ad); \result.contains(ad) <==>
+		// !ad.getDate().isBefore(from) && ad.getDate().isBefore(to));
+		assertEquals(oldBetween, result);
+		assertEquals(oldSince, sinceResult);
+		// @ensures (\forall int i; i >= 0 && i < \result.size(); \result.get(i).equals(get(i)));
+		for (int i = 0; i < sinceResult.size(); i++) {
+			assertEquals(self.get(i), sinceResult.get(i));
+		}
+		// Les vues par catégorie ne contiennent que les annonces de leur catégorie:
+		for (Category cat : Category.values()) {
+			List<ClassifiedAd> catBetween = new ArrayList<ClassifiedAd>();
+			for (ClassifiedAd ad : oldBetween) {
+				if (ad.getCategory().equals(cat)) {
+					catBetween.add(ad);
+				}
+			}
+			assertEquals(catBetween, self.between(cat, from, to));
+			List<ClassifiedAd> catSince = self.since(cat, from);
+			for (int i = 0; i < catSince.size(); i++) {
+				assertEquals(self.get(cat, i), catSince.get(i));
+			}
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods between and since
+	 *
+	 * Le curseur bidirectionnel d'une vue sur un intervalle de dates parcourt ses
+	 * annonces dans l'ordre de get(i), dans un sens puis dans l'autre, et peut
+	 * être placé avant n'importe laquelle d'entre elles.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testbetweenListIterator(CategorizedAdList self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(self.size() > 0);
+		Instant to = self.get(self.size() / 4).getDate();
+		Instant from = self.get(3 * self.size() / 4).getDate();
+
+		// Oldies:
+		saveState(self);
+		List<List<ClassifiedAd>> views = new ArrayList<List<ClassifiedAd>>();
+		views.add(self.between(from, to));
+		views.add(self.since(from));
+		for (Category cat : Category.values()) {
+			views.add(self.between(cat, from, to));
+		}
+
+		for (List<ClassifiedAd> view : views) {
+			List<ClassifiedAd> expected = new ArrayList<ClassifiedAd>();
+			for (ClassifiedAd ad : view) {
+				expected.add(ad);
+			}
+
+			// Exécution:
+			ListIterator<ClassifiedAd> it = view.listIterator();
+
+			// Post-conditions:
+			for (int i = 0; i < expected.size(); i++) {
+				assertTrue(it.hasNext());
+				assertEquals(i, it.nextIndex());
+				assertEquals(view.get(i), it.next());
+			}
+			assertFalse(it.hasNext());
+			for (int i = expected.size() - 1; i >= 0; i--) {
+				assertTrue(it.hasPrevious());
+				assertEquals(i, it.previousIndex());
+				assertEquals(expected.get(i), it.previous());
+			}
+			assertFalse(it.hasPrevious());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i), view.listIterator(i).next());
+				assertEquals(i, view.indexOf(expected.get(i)));
+			}
+			assertThrows(IndexOutOfBoundsException.class, () -> view.listIterator(expected.size() + 1));
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods cheaperThan and cheapest
+	 *
+	 * Renvoient une vue sur les annonces de la catégorie spécifiée, par prix
+	 * croissant.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndCatProvider")
+	public void testcheaperThan(CategorizedAdList self, Category cat) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(cat != null);
+
+		// Oldies:
+		saveState(self);
+		List<Integer> oldPrices = new ArrayList<Integer>();
+		for (int i = 0; i < self.size(cat); i++) {
+			oldPrices.add(self.get(cat, i).getPrice());
+		}
+		Collections.sort(oldPrices);
+		int price = oldPrices.isEmpty() ? 1 : oldPrices.get(oldPrices.size() / 2);
+		int k = 10;
+
+		// Exécution:
+		List<ClassifiedAd> result = self.cheaperThan(cat, price);
+		List<ClassifiedAd> cheapResult = self.cheapest(cat, k);
+
+		// Post-conditions:
+		// @ensures (\forall ClassifiedAd ad; contains(ad) && ad.getCategory().equals(cat);
+		// \result.contains(ad) <==> ad.getPrice() < price);
+		int nbCheaper = 0;
+		for (int p : oldPrices) {
+			if (p < price) {
+				nbCheaper++;
+			}
+		}
+		assertEquals(nbCheaper, result.size());
+		for (int i = 0; i < result.size(); i++) {
+			assertTrue(self.contains(result.get(i)));
+			assertEquals(cat, result.get(i).getCategory());
+			assertTrue(result.get(i).getPrice() < price);
+			// @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+			// \result.get(i - 1).getPrice() <= \result.get(i).getPrice());
+			if (i > 0) {
+				assertTrue(result.get(i - 1).getPrice() <= result.get(i).getPrice());
+			}
+		}
+		// @ensures \result.size() == Math.min(k, size(cat));
+		assertEquals(Math.min(k, oldPrices.size()), cheapResult.size());
+		for (int i = 0; i < cheapResult.size(); i++) {
+			assertEquals(oldPrices.get(i), cheapResult.get(i).getPrice());
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods cheaperThan and cheapest
+	 *
+	 * Plusieurs threads demandant simultanément les annonces les moins chères
+	 * d'une catégorie dont l'index par prix n'est pas encore construit obtiennent
+	 * tous ces annonces, complètes et triées par prix.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndCatProvider")
+	public void testcheapestConcurrently(CategorizedAdList self, Category cat) throws InterruptedException {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(cat != null);
+		// Un clone n'a encore construit aucun index par prix:
+		CategorizedAdList copy = self.clone();
+
+		// Oldies:
+		int size = self.size(cat);
+		List<Integer> oldPrices = new ArrayList<Integer>();
+		for (int i = 0; i < size; i++) {
+			oldPrices.add(self.get(cat, i).getPrice());
+		}
+		Collections.sort(oldPrices);
+
+		// Exécution:
+		List<List<ClassifiedAd>> results = Collections.synchronizedList(new ArrayList<List<ClassifiedAd>>());
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				results.add(new ArrayList<ClassifiedAd>(copy.cheapest(cat, size)));
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Post-conditions:
+		assertEquals(threads.length, results.size());
+		for (List<ClassifiedAd> result : results) {
+			assertEquals(size, result.size());
+			for (int i = 0; i < size; i++) {
+				assertEquals(oldPrices.get(i), result.get(i).getPrice());
+			}
+			assertEquals(results.get(0), result);
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method latest
+	 *
+	 * Copie dans le tableau spécifié les plus récentes annonces de la catégorie
+	 * spécifiée, de la plus récente à la plus ancienne, et renvoie leur nombre.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndCatAndIntProvider")
+	public void testlatest(CategorizedAdList self, Category cat, int k) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(cat != null);
+		assumeTrue(k >= 0);
+		ClassifiedAd[] dest = new ClassifiedAd[k];
+
+		// Oldies:
+		saveState(self);
+
+		// Exécution:
+		int result = self.latest(cat, dest);
+
+		// Post-conditions:
+		// @ensures \result == Math.min(dest.length, size(cat));
+		assertEquals(Math.min(k, self.size(cat)), result);
+		// @ensures (\forall int i; i >= 0 && i < \result; dest[i].equals(get(cat, i)));
+		for (int i = 0; i < result; i++) {
+			assertEquals(self.get(cat, i), dest[i]);
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method page
+	 *
+	 * Renvoie une page d'au plus size annonces de cette liste, de la plus récente
+	 * à la plus ancienne, la page suivante étant obtenue au moyen du jeton de
+	 * continuation de la page précédente.
+	 */
+	@ParameterizedTest
+	@MethodSource("CatAdListAndNewAdProvider")
+	public void testpage(CategorizedAdList self, ClassifiedAd elt) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(elt != null);
+		assumeFalse(self.contains(elt));
+		int size = 2;
+
+		// Oldies:
+		List<ClassifiedAd> oldAds = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			oldAds.add(self.get(i));
+		}
+		boolean eltIsNewer = self.size() == 0 || elt.compareTo(self.get(0)) > 0;
+
+		// Exécution:
+		AdPage result = self.page(Optional.empty(), size);
+
+		// Post-conditions:
+		// @ensures \result.getAds().size() <= size;
+		assertTrue(result.getAds().size() <= size);
+		// @ensures after.isEmpty() ==> (\forall int i; i >= 0 && i < \result.getAds().size();
+		// \result.getAds().get(i).equals(get(i)));
+		List<ClassifiedAd> allPages = new ArrayList<ClassifiedAd>(result.getAds());
+		for (int i = 0; i < result.getAds().size(); i++) {
+			assertEquals(self.get(i), result.getAds().get(i));
+		}
+		// Une annonce plus récente ajoutée entre deux pages ne les décale pas:
+		if (eltIsNewer) {
+			self.add(elt);
+		}
+		Optional<PageToken> token = result.getNextToken();
+		while (token.isPresent()) {
+			AdPage next = self.page(Optional.of(PageToken.parse(token.get().toString())), size);
+			assertFalse(next.getAds().isEmpty());
+			allPages.addAll(next.getAds());
+			token = next.getNextToken();
+		}
+		assertEquals(oldAds, allPages);
+
+		// Invariant:
+		assertInvariant(self);
+	}
 } // End of the test class for CategorizedAdList
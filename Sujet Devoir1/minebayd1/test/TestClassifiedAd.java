@@ -11,6 +11,8 @@ import static minebayd1.test.DataProvider.adSupplier;
 import static minebayd1.test.DataProvider.stringSupplier;
 import static minebayd1.test.DataProvider.randInt;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,10 +59,22 @@ public class TestClassifiedAd {
 		return Stream.generate(() -> Arguments.of(adSupplier(), adSupplier())).limit(LG_STREAM);
 	}
 
+	public static Stream<Arguments> DateAndDateProvider() {
+		// the bounds of the dates representable in nanoseconds, and their neighbours.
+		List<Instant> edges = List.of(Instant.MIN, Instant.MAX, Instant.EPOCH, Instant.ofEpochSecond(0, Long.MIN_VALUE),
+				Instant.ofEpochSecond(0, Long.MAX_VALUE), Instant.ofEpochSecond(0, Long.MIN_VALUE).minusNanos(1),
+				Instant.ofEpochSecond(0, Long.MAX_VALUE).plusNanos(1), Instant.ofEpochSecond(Long.MAX_VALUE / 1_000_000_000L),
+				Instant.ofEpochSecond(Long.MIN_VALUE / 1_000_000_000L - 1, 999_999_999), Instant.ofEpochSecond(-1, 1));
+		Stream<Instant> dates = Stream.concat(edges.stream(),
+				Stream.generate(() -> Instant.ofEpochSecond(0, DataProvider.randLong())).limit(LG_STREAM));
+		return dates.map(date -> Arguments.of(date, DataProvider.getRandomElt(edges)));
+	}
+
 	private Instant dateCreation;
 	private Category cat;
 	private String text;
 	private int price;
+	private long seq;
 
 	private void saveState(ClassifiedAd self) {
 		// Put here the code to save the state of self:
@@ -68,6 +82,7 @@ public class TestClassifiedAd {
 		this.text = self.getDescription();
 		this.cat = self.getCategory();
 		this.price = self.getPrice();
+		this.seq = self.getSequence();
 	}
 
 	private void assertPurity(ClassifiedAd self) {
@@ -76,6 +91,7 @@ public class TestClassifiedAd {
 		assertEquals(text, self.getDescription());
 		assertEquals(cat, self.getCategory());
 		assertEquals(price, self.getPrice());
+		assertEquals(seq, self.getSequence());
 	}
 
 	public void assertInvariant(ClassifiedAd self) {
@@ -90,6 +106,8 @@ public class TestClassifiedAd {
 		assertTrue(self.getPrice() > 0);
 		// @invariant getDate() != null;
 		assertNotNull(self.getDate());
+		// @invariant getSequence() >= 0;
+		assertTrue(self.getSequence() >= 0);
 	}
 
 	/**
@@ -169,6 +187,46 @@ public class TestClassifiedAd {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method getDate
+	 *
+	 * Une date représentable en nanosecondes depuis l'epoch (de 1677 à 2262) est
+	 * rendue à l'identique par getDate(); les dates au-delà sont bornées, sans que
+	 * leur ordre ne soit inversé.
+	 */
+	@ParameterizedTest
+	@MethodSource("DateAndDateProvider")
+	public void testgetDateRoundTrip(Instant date, Instant other) {
+
+		// Pré-conditions:
+		assumeTrue(date != null && other != null);
+
+		// Oldies:
+		boolean representable = !date.isBefore(Instant.ofEpochSecond(0, Long.MIN_VALUE))
+				&& !date.isAfter(Instant.ofEpochSecond(0, Long.MAX_VALUE));
+
+		// Exécution:
+		long nanos = epochNanos(date);
+		ClassifiedAd ad = newAd(Category.BOOKS, "À vendre", 10, nanos, 0);
+
+		// Post-conditions:
+		if (representable) {
+			assertEquals(date, ad.getDate());
+		} else {
+			assertEquals(date.isAfter(Instant.EPOCH) ? Long.MAX_VALUE : Long.MIN_VALUE, nanos);
+			assertEquals(Instant.ofEpochSecond(0, nanos), ad.getDate());
+		}
+		// La conversion préserve l'ordre des dates:
+		if (date.isBefore(other)) {
+			assertTrue(nanos <= epochNanos(other));
+		} else if (date.isAfter(other)) {
+			assertTrue(nanos >= epochNanos(other));
+		} else {
+			assertEquals(epochNanos(other), nanos);
+		}
+		assertTrue(ad.isBefore(newAd(Category.BOOKS, "À vendre", 10, Long.MAX_VALUE, 0)) || nanos == Long.MAX_VALUE);
+	}
+
 	/**
 	 * Test method for method getDescription
 	 *
@@ -277,6 +335,91 @@ public class TestClassifiedAd {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method compareTo
+	 *
+	 * Compare cette annonce à l'annonce spécifiée selon leur date puis, à date
+	 * égale, selon leur numéro de séquence.
+	 */
+	@ParameterizedTest
+	@MethodSource("adAndadProvider")
+	public void testcompareTo(ClassifiedAd self, ClassifiedAd ad) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires ad != null;
+		assumeTrue(ad != null);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+
+		// Exécution:
+		int result = self.compareTo(ad);
+
+		// Post-conditions:
+		// @ensures isBefore(ad) ==> \result < 0;
+		assertTrue(!self.isBefore(ad) || result < 0);
+		// @ensures isAfter(ad) ==> \result > 0;
+		assertTrue(!self.isAfter(ad) || result > 0);
+		// @ensures \result == 0 <==> getSequence() == ad.getSequence();
+		assertEquals(self.getSequence() == ad.getSequence(), result == 0);
+		// @ensures Integer.signum(\result) == -Integer.signum(ad.compareTo(this));
+		assertEquals(Integer.signum(result), -Integer.signum(ad.compareTo(self)));
+		// Deux annonces de même date sont ordonnées par leur numéro de séquence,
+		// sans cesser d'être égales:
+		long nanos = self.getDate().getEpochSecond() * 1_000_000_000L + self.getDate().getNano();
+		long seq = randInt(1000);
+		long otherSeq = randInt(1000);
+		ClassifiedAd first = newAd(self.getCategory(), self.getDescription(), self.getPrice(), nanos, seq);
+		ClassifiedAd second = newAd(self.getCategory(), self.getDescription(), self.getPrice(), nanos, otherSeq);
+		assertEquals(first.getDate(), second.getDate());
+		assertEquals(Long.signum(Long.compare(seq, otherSeq)), Integer.signum(first.compareTo(second)));
+		assertEquals(Long.signum(Long.compare(otherSeq, seq)), Integer.signum(second.compareTo(first)));
+		assertEquals(0, first.compareTo(first));
+		assertTrue(first.equals(second));
+		assertFalse(first.isBefore(second) || first.isAfter(second));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Renvoie la date spécifiée en nanosecondes depuis l'epoch, par la conversion
+	 * de paquetage de ClassifiedAd.
+	 */
+	private static long epochNanos(Instant date) {
+		try {
+			Method epochNanos = ClassifiedAd.class.getDeclaredMethod("epochNanos", Instant.class);
+			epochNanos.setAccessible(true);
+			return (long) epochNanos.invoke(null, date);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Construit une annonce de date (en nanosecondes depuis l'epoch) et de numéro
+	 * de séquence imposés, par le constructeur de paquetage de ClassifiedAd.
+	 */
+	private static ClassifiedAd newAd(Category cat, String desc, int price, long date, long seq) {
+		try {
+			Constructor<ClassifiedAd> constructor = ClassifiedAd.class.getDeclaredConstructor(Category.class,
+					String.class, int.class, long.class, long.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(cat, desc, price, date, seq);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
 	/**
 	 * Test method for method equals
 	 *
@@ -358,6 +501,8 @@ public class TestClassifiedAd {
 		int result = self.hashCode();
 
 		// Post-conditions:
+		// Le code de hashage ne change pas d'un appel à l'autre:
+		assertEquals(result, self.hashCode());
 
 		// Assert purity:
 		assertPurity(self);
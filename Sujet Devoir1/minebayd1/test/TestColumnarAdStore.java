@@ -0,0 +1,211 @@
+package minebayd1.test;
+
+import static minebayd1.test.DataProvider.LG_STREAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import minebayd1.CategorizedAdList;
+import minebayd1.Category;
+import minebayd1.ClassifiedAd;
+import minebayd1.ColumnarAdStore;
+
+/**
+ * Test class for ColumnarAdStore.
+ *
+ * Une copie en colonnes des annonces d'une CategorizedAdList, destinée aux
+ * analyses qui parcourent toutes les annonces (sommes de prix, filtres par
+ * date ou par description).
+ */
+public class TestColumnarAdStore {
+
+	public static Stream<CategorizedAdList> CategorizedAdListProvider() {
+		return Stream.generate(DataProvider::CategorizedAdListSupplier).limit(LG_STREAM);
+	}
+
+	public static Stream<ColumnarAdStore> ColumnarAdStoreProvider() {
+		return CategorizedAdListProvider().map(ColumnarAdStore::new);
+	}
+
+	public static Stream<Arguments> StoreAndDatesProvider() {
+		return ColumnarAdStoreProvider().map(store -> {
+			if (store.size() == 0) {
+				return Arguments.of(store, Instant.EPOCH, Instant.now());
+			}
+			Instant from = store.get(DataProvider.randInt(store.size())).getDate();
+			Instant to = store.get(DataProvider.randInt(store.size())).getDate();
+			return from.isBefore(to) ? Arguments.of(store, from, to) : Arguments.of(store, to, from);
+		});
+	}
+
+	public void assertInvariant(ColumnarAdStore self) {
+		// @invariant size() >= 0;
+		assertTrue(self.size() >= 0);
+		// @invariant size() == (\sum Category cat;true;size(cat));
+		int sum = 0;
+		for (Category cat : Category.values()) {
+			sum += self.size(cat);
+		}
+		assertEquals(sum, self.size());
+		// @invariant (\forall int i, j; i >= 0 && i < j && j < size();
+		// get(i).compareTo(get(j)) > 0);
+		for (int i = 1; i < self.size(); i++) {
+			assertTrue(self.get(i - 1).compareTo(self.get(i)) > 0);
+		}
+		// @invariant (\forall Category cat;true;
+		// (\forall int i, j; i >= 0 && i < j && j < size(cat);
+		// get(cat, i).compareTo(get(cat, j)) > 0));
+		for (Category cat : Category.values()) {
+			for (int i = 1; i < self.size(cat); i++) {
+				assertTrue(self.get(cat, i - 1).compareTo(self.get(cat, i)) > 0);
+			}
+		}
+	}
+
+	/**
+	 * Test method for constructor ColumnarAdStore
+	 *
+	 * Initialise un nouveau stockage en colonnes contenant les annonces de la
+	 * liste spécifiée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testColumnarAdStore(CategorizedAdList list) {
+
+		// Pré-conditions:
+		// @requires list != null;
+		assumeTrue(list != null);
+
+		// Exécution:
+		ColumnarAdStore result = new ColumnarAdStore(list);
+
+		// Post-conditions:
+		// @ensures size() == list.size();
+		assertEquals(list.size(), result.size());
+		// @ensures (\forall Category cat;true; size(cat) == list.size(cat));
+		for (Category cat : Category.values()) {
+			assertEquals(list.size(cat), result.size(cat));
+			for (int i = 0; i < result.size(cat); i++) {
+				assertEquals(list.get(cat, i), result.get(cat, i));
+			}
+		}
+		// @ensures (\forall int i; i >= 0 && i < size(); get(i).equals(list.get(i)));
+		for (int i = 0; i < result.size(); i++) {
+			ClassifiedAd ad = result.get(i);
+			assertEquals(list.get(i), ad);
+			assertEquals(list.get(i).hashCode(), ad.hashCode());
+			assertEquals(0, list.get(i).compareTo(ad));
+			assertNotSame(list.get(i), ad);
+			assertTrue(result.contains(list.get(i)));
+			assertTrue(result.contains(ad));
+		}
+		assertEquals(list.stream().collect(Collectors.toList()), result.stream().collect(Collectors.toList()));
+		assertFalse(result.contains(new Object()));
+		for (int i = 0; i < result.size(); i++) {
+			String desc = result.get(i).getDescription();
+			assertEquals(list.stream().filter(ad -> ad.getDescription().equals(desc)).count(), result.count(desc));
+		}
+		assertTrue(result.distinctDescriptions() <= result.size());
+
+		// Invariant:
+		assertInvariant(result);
+	}
+
+	/**
+	 * Test method for method sumPrices
+	 *
+	 * Renvoie la somme des prix de toutes les annonces de ce stockage.
+	 */
+	@ParameterizedTest
+	@MethodSource("ColumnarAdStoreProvider")
+	public void testsumPrices(ColumnarAdStore self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Exécution:
+		long result = self.sumPrices();
+
+		// Post-conditions:
+		// @ensures \result == (\sum int i; i >= 0 && i < size(); get(i).getPrice());
+		long sum = 0;
+		for (int i = 0; i < self.size(); i++) {
+			sum += self.get(i).getPrice();
+		}
+		assertEquals(sum, result);
+		// @ensures \result == (\sum int i; i >= 0 && i < size(cat); get(cat, i).getPrice());
+		long sumByCat = 0;
+		for (Category cat : Category.values()) {
+			long catSum = 0;
+			for (int i = 0; i < self.size(cat); i++) {
+				catSum += self.get(cat, i).getPrice();
+				assertTrue(self.minPrice(cat).getAsInt() <= self.get(cat, i).getPrice());
+				assertTrue(self.maxPrice(cat).getAsInt() >= self.get(cat, i).getPrice());
+			}
+			assertEquals(catSum, self.sumPrices(cat));
+			assertEquals(self.size(cat) == 0, self.minPrice(cat).isEmpty());
+			sumByCat += self.sumPrices(cat);
+		}
+		assertEquals(result, sumByCat);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method sumPricesBetween
+	 *
+	 * Renvoie la somme des prix des annonces publiées depuis from et avant to.
+	 */
+	@ParameterizedTest
+	@MethodSource("StoreAndDatesProvider")
+	public void testsumPricesBetween(ColumnarAdStore self, Instant from, Instant to) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires from != null;
+		assumeTrue(from != null);
+		// @requires to != null;
+		assumeTrue(to != null);
+
+		// Exécution:
+		long result = self.sumPricesBetween(from, to);
+
+		// Post-conditions:
+		// @ensures \result == (\sum int i; i >= 0 && i < size() &&
+		// !get(i).getDate().isBefore(from) && get(i).getDate().isBefore(to);
+		// get(i).getPrice());
+		List<ClassifiedAd> inRange = self.stream()
+				.filter(ad -> !ad.getDate().isBefore(from) && ad.getDate().isBefore(to)).collect(Collectors.toList());
+		long sum = 0;
+		long[] sumByCat = new long[Category.values().length];
+		for (ClassifiedAd ad : inRange) {
+			sum += ad.getPrice();
+			sumByCat[ad.getCategory().ordinal()] += ad.getPrice();
+		}
+		assertEquals(sum, result);
+		assertEquals(inRange.size(), self.countBetween(from, to));
+		for (int i = 0; i < sumByCat.length; i++) {
+			assertEquals(sumByCat[i], self.sumPricesByCategory(from, to)[i]);
+		}
+		assertEquals(self.sumPrices(), self.sumPricesBetween(Instant.MIN, Instant.MAX));
+
+		// Invariant:
+		assertInvariant(self);
+	}
+} // End of the test class for ColumnarAdStore
@@ -0,0 +1,181 @@
+package minebayd1.test;
+
+import static minebayd1.test.DataProvider.LG_STREAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import minebayd1.Category;
+import minebayd1.ClassifiedAd;
+import minebayd1.DescriptionPool;
+
+/**
+ * Test class for DescriptionPool.
+ *
+ * Une réserve de descriptions d'annonces, permettant à des annonces de même
+ * description de partager une unique chaîne de caractères.
+ */
+public class TestDescriptionPool {
+
+	public static Stream<Arguments> PoolAndStringProvider() {
+		return Stream.generate(() -> {
+			DescriptionPool pool = new DescriptionPool(DataProvider.randInt(5) + 1);
+			for (int i = DataProvider.randInt(8); i > 0; i--) {
+				String desc = DataProvider.stringSupplier();
+				if (desc != null) {
+					pool.intern(desc);
+				}
+			}
+			return Arguments.of(pool, DataProvider.stringSupplier());
+		}).limit(LG_STREAM);
+	}
+
+	public void assertInvariant(DescriptionPool self) {
+		// @invariant capacity() > 0;
+		assertTrue(self.capacity() > 0);
+		// @invariant size() >= 0 && size() <= capacity();
+		assertTrue(self.size() >= 0 && self.size() <= self.capacity());
+		// @invariant hits() >= 0;
+		assertTrue(self.hits() >= 0);
+		// @invariant bytesSaved() >= 0;
+		assertTrue(self.bytesSaved() >= 0);
+	}
+
+	/**
+	 * Test method for method intern
+	 *
+	 * Renvoie la chaîne de cette réserve égale à la description spécifiée,
+	 * après l'y avoir ajoutée si elle n'y était pas et que la capacité de la
+	 * réserve le permet; renvoie la description spécifiée elle-même sinon.
+	 */
+	@ParameterizedTest
+	@MethodSource("PoolAndStringProvider")
+	public void testintern(DescriptionPool self, String desc) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires desc != null;
+		assumeTrue(desc != null);
+
+		// Oldies:
+		int oldSize = self.size();
+		long oldHits = self.hits();
+		long oldBytesSaved = self.bytesSaved();
+
+		// Exécution:
+		String result = self.intern(desc);
+
+		// Post-conditions:
+		// @ensures \result.equals(desc);
+		assertEquals(desc, result);
+		// @ensures \result != desc ==> hits() == \old(hits()) + 1;
+		if (result != desc) {
+			assertEquals(oldHits + 1, self.hits());
+			assertTrue(self.bytesSaved() > oldBytesSaved);
+		}
+		// Une copie de la description est remplacée par la chaîne de la réserve,
+		// si celle-ci a pu la retenir:
+		String copy = new String(desc);
+		if (oldSize < self.capacity()) {
+			assertSame(result, self.intern(copy));
+		} else {
+			assertEquals(desc, self.intern(copy));
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method intern
+	 *
+	 * Des descriptions distinctes ajoutées simultanément par plusieurs threads ne
+	 * dépassent pas la capacité de la réserve.
+	 */
+	@ParameterizedTest
+	@MethodSource("PoolAndStringProvider")
+	public void testinternConcurrently(DescriptionPool self, String desc) throws InterruptedException {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(desc != null);
+
+		// Exécution:
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			String prefix = desc + "#" + t + "#";
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 50; i++) {
+					self.intern(prefix + i);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Post-conditions:
+		// La réserve est remplie, sans dépasser sa capacité:
+		assertEquals(self.capacity(), self.size());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method setDescriptionPool of ClassifiedAd
+	 *
+	 * Installe la réserve de descriptions spécifiée, qui sera consultée par les
+	 * annonces créées ensuite.
+	 */
+	@ParameterizedTest
+	@MethodSource("PoolAndStringProvider")
+	public void testsetDescriptionPool(DescriptionPool self, String desc) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(desc != null && !desc.isBlank());
+		assumeTrue(self.size() < self.capacity());
+
+		// Oldies:
+		Optional<DescriptionPool> oldPool = ClassifiedAd.getDescriptionPool();
+
+		// Exécution:
+		ClassifiedAd.setDescriptionPool(Optional.of(self));
+
+		try {
+			// Post-conditions:
+			// @ensures getDescriptionPool() == pool;
+			assertSame(self, ClassifiedAd.getDescriptionPool().get());
+			// Les annonces de même description partagent une seule chaîne:
+			ClassifiedAd first = new ClassifiedAd(Category.BOOKS, new String(desc), 10);
+			long hits = self.hits();
+			ClassifiedAd second = new ClassifiedAd(Category.BOOKS, new String(desc), 20);
+			assertSame(first.getDescription(), second.getDescription());
+			assertEquals(hits + 1, self.hits());
+		} finally {
+			ClassifiedAd.setDescriptionPool(oldPool);
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+} // End of the test class for DescriptionPool
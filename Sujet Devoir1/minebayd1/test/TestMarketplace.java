@@ -0,0 +1,182 @@
+package minebayd1.test;
+
+import static minebayd1.test.DataProvider.LG_STREAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static minebayd1.AdState.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import minebayd1.Category;
+import minebayd1.ClassifiedAd;
+import minebayd1.Marketplace;
+import minebayd1.User;
+
+/**
+ * Test class for Marketplace.
+ *
+ * Le catalogue global de MinEbay: l'ensemble des annonces ouvertes (open ads)
+ * de tous les utilisateurs inscrits sur cette place de marché, triées par
+ * catégorie et par date.
+ */
+public class TestMarketplace {
+
+	/**
+	 * Renvoie une nouvelle place de marché, dont certains utilisateurs ont créé
+	 * et acheté des annonces avant leur inscription et d'autres après.
+	 */
+	private static Marketplace marketplaceSupplier() {
+		Marketplace market = new Marketplace();
+		List<User> users = new ArrayList<User>();
+		int nbUsers = DataProvider.randInt(4) + 2;
+
+		for (int i = 0; i < nbUsers; i++) {
+			users.add(new User("Vendeur" + i, "pass" + i));
+		}
+		for (int step = DataProvider.randInt(60); step > 0; step--) {
+			User u = users.get(DataProvider.randInt(nbUsers));
+			if (DataProvider.randBool(4) && u.getMarketplace().isEmpty()) {
+				market.register(u);
+			} else if (DataProvider.randBool(3)) {
+				User vendor = users.get(DataProvider.randInt(nbUsers));
+				if (vendor != u && vendor.size(OPEN, Optional.empty()) > 0) {
+					u.buy(vendor, vendor.get(OPEN, Optional.empty(), 0));
+				}
+			} else {
+				u.add(DataProvider.enumSupplier(Category.class), "Annonce de " + u.getName(),
+						DataProvider.randInt(100) + 1);
+			}
+		}
+		return market;
+	}
+
+	public static Stream<Marketplace> MarketplaceProvider() {
+		return Stream.generate(TestMarketplace::marketplaceSupplier).limit(LG_STREAM);
+	}
+
+	public static Stream<Arguments> MarketplaceAndUserProvider() {
+		return Stream.generate(() -> {
+			User u = new User("Nouveau", "pass");
+			for (int i = DataProvider.randInt(10); i > 0; i--) {
+				u.add(DataProvider.enumSupplier(Category.class), "Annonce n°" + i, DataProvider.randInt(100) + 1);
+			}
+			return Arguments.of(marketplaceSupplier(), u);
+		}).limit(LG_STREAM);
+	}
+
+	public void assertInvariant(Marketplace self) {
+		// @invariant getUsers() != null;
+		assertNotNull(self.getUsers());
+		// @invariant (\forall User u; getUsers().contains(u);
+		// (\forall int i; i >= 0 && i < u.size(AdState.OPEN, Optional.empty());
+		// contains(u.get(AdState.OPEN, Optional.empty(), i))));
+		int nbOpen = 0;
+		for (User u : self.getUsers()) {
+			for (int i = 0; i < u.size(OPEN, Optional.empty()); i++) {
+				assertTrue(self.contains(u.get(OPEN, Optional.empty(), i)));
+			}
+			nbOpen += u.size(OPEN, Optional.empty());
+		}
+		assertEquals(nbOpen, self.size());
+		// @invariant (\forall int i, j; i >= 0 && i < j && j < size();
+		// !get(i).isBefore(get(j)));
+		for (int i = 1; i < self.size(); i++) {
+			assertFalse(self.get(i - 1).isBefore(self.get(i)));
+		}
+	}
+
+	/**
+	 * Test method for method register
+	 *
+	 * Inscrit l'utilisateur spécifié sur cette place de marché: ses annonces
+	 * ouvertes sont ajoutées au catalogue global, puis le seront au fil de leur
+	 * création.
+	 */
+	@ParameterizedTest
+	@MethodSource("MarketplaceAndUserProvider")
+	public void testregister(Marketplace self, User user) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires user != null;
+		assumeTrue(user != null);
+		// @requires user.getMarketplace().isEmpty();
+		assumeTrue(user.getMarketplace().isEmpty());
+
+		// Oldies:
+		int oldSize = self.size();
+
+		// Exécution:
+		self.register(user);
+
+		// Post-conditions:
+		// @ensures getUsers().contains(user);
+		assertTrue(self.getUsers().contains(user));
+		// @ensures user.getMarketplace().get() == this;
+		assertSame(self, user.getMarketplace().get());
+		// @ensures size() == \old(size()) + user.size(AdState.OPEN, Optional.empty());
+		assertEquals(oldSize + user.size(OPEN, Optional.empty()), self.size());
+		// Les annonces créées après l'inscription font partie du catalogue global:
+		ClassifiedAd ad = user.add(Category.BOOKS, "Annonce après inscription", 10);
+		assertTrue(self.contains(ad));
+		assertEquals(ad, self.get(0));
+		assertEquals(ad, self.get(Category.BOOKS, 0));
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method stream
+	 *
+	 * Renvoie un Stream sur toutes les annonces ouvertes de cette place de
+	 * marché, de la plus récente à la plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("MarketplaceProvider")
+	public void teststream(Marketplace self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Oldies:
+		List<ClassifiedAd> oldAds = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(); i++) {
+			oldAds.add(self.get(i));
+		}
+
+		// Exécution:
+		List<ClassifiedAd> result = self.stream().collect(Collectors.toList());
+
+		// Post-conditions:
+		// @ensures \result.count() == size();
+		assertEquals(oldAds, result);
+		// @ensures \result.count() == size(cat);
+		for (Category cat : Category.values()) {
+			List<ClassifiedAd> catAds = self.stream(cat).collect(Collectors.toList());
+			assertEquals(self.size(cat), catAds.size());
+			for (int i = 0; i < catAds.size(); i++) {
+				assertEquals(self.get(cat, i), catAds.get(i));
+			}
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+} // End of the test class for Marketplace
@@ -0,0 +1,202 @@
+package minebayd1.test;
+
+import static minebayd1.test.DataProvider.LG_STREAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import minebayd1.CategorizedAdList;
+import minebayd1.Category;
+import minebayd1.ClassifiedAd;
+import minebayd1.OffHeapAdStore;
+
+/**
+ * Test class for OffHeapAdStore.
+ *
+ * Un stockage hors du tas (off-heap) des annonces d'un très grand catalogue,
+ * triées par catégorie et par date comme celles d'une CategorizedAdList.
+ */
+public class TestOffHeapAdStore {
+
+	public static Stream<CategorizedAdList> CategorizedAdListProvider() {
+		return Stream.generate(DataProvider::CategorizedAdListSupplier).limit(LG_STREAM);
+	}
+
+	public static Stream<Arguments> StoreAndAdProvider() {
+		return Stream.generate(() -> {
+			CategorizedAdList list = DataProvider.CategorizedAdListSupplier();
+			ClassifiedAd ad = DataProvider.adSupplier();
+			list.remove(ad);
+			return Arguments.of(new OffHeapAdStore(list), ad);
+		}).limit(LG_STREAM);
+	}
+
+	public static Stream<Arguments> CategoryAndCountProvider() {
+		// enough ads to fill more than one block of records and of descriptions.
+		return Stream.generate(() -> Arguments.of(DataProvider.enumSupplier(Category.class),
+				70000 + DataProvider.randInt(70000))).limit(3);
+	}
+
+	public void assertInvariant(OffHeapAdStore self) {
+		// @invariant size() >= 0;
+		assertTrue(self.size() >= 0);
+		// @invariant size() == (\sum Category cat;true;size(cat));
+		int sum = 0;
+		for (Category cat : Category.values()) {
+			sum += self.size(cat);
+		}
+		assertEquals(sum, self.size());
+		// @invariant (\forall int i, j; i >= 0 && i < j && j < size();
+		// get(i).compareTo(get(j)) > 0);
+		for (int i = 1; i < self.size(); i++) {
+			assertTrue(self.get(i - 1).compareTo(self.get(i)) > 0);
+		}
+		// @invariant (\forall Category cat;true;
+		// (\forall int i, j; i >= 0 && i < j && j < size(cat);
+		// get(cat, i).compareTo(get(cat, j)) > 0));
+		for (Category cat : Category.values()) {
+			for (int i = 1; i < self.size(cat); i++) {
+				assertTrue(self.get(cat, i - 1).compareTo(self.get(cat, i)) > 0);
+			}
+		}
+	}
+
+	/**
+	 * Test method for constructor OffHeapAdStore
+	 *
+	 * Initialise un nouveau stockage contenant les annonces de la liste
+	 * spécifiée.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategorizedAdListProvider")
+	public void testOffHeapAdStore(CategorizedAdList list) {
+
+		// Pré-conditions:
+		// @requires list != null;
+		assumeTrue(list != null);
+
+		// Exécution:
+		OffHeapAdStore result = new OffHeapAdStore(list);
+
+		// Post-conditions:
+		// @ensures size() == list.size();
+		assertEquals(list.size(), result.size());
+		// @ensures (\forall Category cat;true; size(cat) == list.size(cat));
+		for (Category cat : Category.values()) {
+			assertEquals(list.size(cat), result.size(cat));
+			for (int i = 0; i < result.size(cat); i++) {
+				assertEquals(list.get(cat, i), result.get(cat, i));
+			}
+		}
+		// @ensures (\forall int i; i >= 0 && i < size(); get(i).equals(list.get(i)));
+		for (int i = 0; i < result.size(); i++) {
+			ClassifiedAd ad = result.get(i);
+			assertEquals(list.get(i), ad);
+			assertEquals(list.get(i).hashCode(), ad.hashCode());
+			assertEquals(0, list.get(i).compareTo(ad));
+			assertNotSame(list.get(i), ad);
+			assertTrue(result.contains(list.get(i)));
+		}
+		assertEquals(list.stream().collect(Collectors.toList()), result.stream().collect(Collectors.toList()));
+		assertFalse(result.contains(new Object()));
+
+		// Invariant:
+		assertInvariant(result);
+	}
+
+	/**
+	 * Test method for method add
+	 *
+	 * Ajoute l'annonce spécifiée à ce stockage.
+	 */
+	@ParameterizedTest
+	@MethodSource("StoreAndAdProvider")
+	public void testadd(OffHeapAdStore self, ClassifiedAd ad) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires ad != null;
+		assumeTrue(ad != null);
+		// @requires !contains(ad);
+		assumeTrue(!self.contains(ad));
+
+		// Oldies:
+		int oldSize = self.size();
+		int oldCatSize = self.size(ad.getCategory());
+
+		// Exécution:
+		self.add(ad);
+
+		// Post-conditions:
+		// @ensures contains(ad);
+		assertTrue(self.contains(ad));
+		// @ensures size() == \old(size()) + 1;
+		assertEquals(oldSize + 1, self.size());
+		// @ensures size(ad.getCategory()) == \old(size(ad.getCategory())) + 1;
+		assertEquals(oldCatSize + 1, self.size(ad.getCategory()));
+		// Une annonce créée après les autres est la plus récente de sa catégorie:
+		ClassifiedAd fresh = new ClassifiedAd(ad.getCategory(), "Annonce récente, à vendre", 42);
+		self.add(fresh);
+		assertEquals(fresh, self.get(0));
+		ClassifiedAd[] front = new ClassifiedAd[2];
+		assertEquals(Math.min(2, oldCatSize + 2), self.latest(ad.getCategory(), front));
+		assertEquals(fresh, front[0]);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method add
+	 *
+	 * Ajoute l'annonce spécifiée à ce stockage, au-delà de la taille d'un bloc
+	 * d'enregistrements et d'un bloc de la réserve de chaînes.
+	 */
+	@ParameterizedTest
+	@MethodSource("CategoryAndCountProvider")
+	public void testaddManyAds(Category cat, int count) {
+		OffHeapAdStore self = new OffHeapAdStore();
+		ClassifiedAd[] ads = new ClassifiedAd[count];
+
+		// Exécution:
+		for (int i = 0; i < count; i++) {
+			ads[i] = new ClassifiedAd(cat, "Annonce n°" + i + " " + "é".repeat(i % 40), i);
+			self.add(ads[i]);
+		}
+
+		// Post-conditions:
+		// @ensures size() == \old(size()) + 1;
+		assertEquals(count, self.size());
+		assertEquals(count, self.size(cat));
+		assertTrue(self.offHeapBytes() > (long) count * 32);
+		// Les annonces sont relues telles qu'ajoutées, de part et d'autre des
+		// limites de blocs:
+		for (int i = 0; i < count; i++) {
+			assertEquals(ads[count - 1 - i], self.get(cat, i));
+		}
+		for (int i = 0; i < count; i += 997) {
+			assertEquals(ads[count - 1 - i], self.get(i));
+			// @ensures contains(ad);
+			assertTrue(self.contains(ads[i]));
+		}
+		assertFalse(self.contains(new ClassifiedAd(cat, "Annonce n°0 ", 0)));
+		assertEquals(ads[count - 1], self.stream().findFirst().get());
+
+		// Invariant:
+		for (int i = 1; i < self.size(cat); i++) {
+			assertTrue(self.get(cat, i - 1).compareTo(self.get(cat, i)) > 0);
+		}
+	}
+} // End of the test class for OffHeapAdStore
@@ -10,10 +10,12 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -1452,4 +1454,104 @@ public class TestUser {
 		// Invariant:
 		assertInvariant(self);
 	}
+
+	/**
+	 * Test method for method parallelStream
+	 *
+	 * Renvoie un Stream parallèle sur les annonces de ce User dans l'état et la
+	 * catégorie sélectionnés, de la plus récente à la plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("UserProvider")
+	public void testparallelStream(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<ClassifiedAd> oldAds = self.stream().collect(Collectors.toList());
+
+		// Exécution:
+		Stream<ClassifiedAd> result = self.parallelStream();
+
+		// Post-conditions:
+		// @ensures \result.isParallel();
+		assertTrue(result.isParallel());
+		// @ensures \result.count() == size();
+		List<ClassifiedAd> ads = result.collect(Collectors.toList());
+		assertEquals(self.size(), ads.size());
+		assertEquals(oldAds, ads);
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for methods searchAll and searchAny
+	 *
+	 * Renvoient les annonces de ce User étant dans l'état spécifié, appartenant à
+	 * la catégorie spécifiée et dont la description contient tous les mots
+	 * spécifiés (searchAll) ou l'un d'entre eux (searchAny), de la plus récente à
+	 * la plus ancienne.
+	 */
+	@ParameterizedTest
+	@MethodSource("UserAndStateAndOptCatProvider")
+	public void testsearchAll(User self, AdState state, Optional<Category> cat) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		assumeTrue(state != null);
+		assumeTrue(cat != null);
+		String allWords = "Annonce FROM " + self.getName();
+		String anyWords = "Marcel, Sonia; " + self.getName();
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<ClassifiedAd> oldAll = new ArrayList<ClassifiedAd>();
+		List<ClassifiedAd> oldAny = new ArrayList<ClassifiedAd>();
+		for (int i = 0; i < self.size(state, cat); i++) {
+			ClassifiedAd ad = self.get(state, cat, i);
+			List<String> adWords = Arrays.asList(ad.getDescription().toLowerCase().split("[^\\p{L}\\p{N}]+"));
+			if (adWords.containsAll(Arrays.asList("annonce", "from", self.getName().toLowerCase()))) {
+				oldAll.add(ad);
+			}
+			if (adWords.contains("marcel") || adWords.contains("sonia")
+					|| adWords.contains(self.getName().toLowerCase())) {
+				oldAny.add(ad);
+			}
+		}
+
+		// Exécution:
+		List<ClassifiedAd> result = self.searchAll(state, cat, allWords);
+		List<ClassifiedAd> anyResult = self.searchAny(state, cat, anyWords);
+
+		// Post-conditions:
+		// @ensures (\forall ClassifiedAd ad; \result.contains(ad);
+		// containsInState(state, ad));
+		// @ensures (\forall int i; i > 0 && i < \result.size(); <br/>
+		// !\result.get(i).isAfter(\result.get(i - 1)));
+		assertEquals(oldAll, result);
+		assertEquals(oldAny, anyResult);
+		// Aucun mot ne correspond à aucune annonce:
+		assertTrue(self.searchAll(state, cat, " ,; ").isEmpty());
+		assertTrue(self.searchAny(state, cat, "introuvable").isEmpty());
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
 } // End of the test class for User